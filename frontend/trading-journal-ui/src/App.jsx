@@ -58,6 +58,12 @@ import {
     updateAttachment as updateAttachmentApi,
     deleteAttachment as deleteAttachmentApi,
 } from "./features/attachments/api/attachmentsApi";
+import { getChangesSince, getSyncCursor } from "./features/sync/api/syncApi";
+import {
+    applySyncChanges,
+    compareCashflowsNewestFirst,
+    compareTradesNewestFirst,
+} from "./features/sync/utils/applySyncChanges";
 import DeleteTradeModal from "./features/trades/components/DeleteTradeModal";
 import ReviewModal from "./features/trades/components/ReviewModal";
 import AttachmentLightbox from "./features/attachments/components/AttachmentLightbox";
@@ -179,6 +185,7 @@ export default function App() {
     const refreshBlockedUntilRef = useRef(0);
     const lastLoadedTokenRef = useRef("");
     const initialLoadInFlightRef = useRef("");
+    const syncCursorRef = useRef(null);
     const BASE_SESSION_OFFSET = 1; // GMT+1
     const {
         selectedTradeForDetails,
@@ -592,9 +599,23 @@ export default function App() {
         isLoadingRef.current = true;
         setIsLoading(true);
         try {
-            const data = await getTrades(API, token);
-            setTrades(data);
+            if (syncCursorRef.current !== null) {
+                // Delta refresh: only rows changed since the last load come back.
+                const { cursor, changes } = await getChangesSince(API, token, syncCursorRef.current);
+                syncCursorRef.current = cursor;
+                setTrades((prev) => applySyncChanges(prev, changes, "TRADE", "trade", compareTradesNewestFirst));
+                setCashflows((prev) => applySyncChanges(prev, changes, "CASHFLOW", "cashflow", compareCashflowsNewestFirst));
+            } else {
+                // The cursor is read first, so anything written during the full load is replayed by the next sync.
+                const cursor = await getSyncCursor(API, token);
+                const data = await getTrades(API, token);
+                setTrades(data);
+                syncCursorRef.current = cursor;
+            }
         } catch (err) {
+            if (err?.status === 410) {
+                syncCursorRef.current = null;
+            }
             setError(getUserMessage(err));
         } finally {
             setIsLoading(false);
@@ -1444,10 +1465,12 @@ export default function App() {
         if (!token) {
             lastLoadedTokenRef.current = "";
             initialLoadInFlightRef.current = "";
+            syncCursorRef.current = null;
             return;
         }
         if (lastLoadedTokenRef.current === token || initialLoadInFlightRef.current === token) return;
         lastLoadedTokenRef.current = token;
+        syncCursorRef.current = null;
         initialLoadInFlightRef.current = token;
         const runInitialLoad = async () => {
             await Promise.allSettled([
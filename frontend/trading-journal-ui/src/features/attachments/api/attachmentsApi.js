@@ -15,6 +15,24 @@ export async function getAttachmentsForTrade(apiBase, token, tradeId) {
     }
 }
 
+export async function getAttachmentsForTrades(apiBase, token, tradeIds) {
+    const ids = (tradeIds || []).filter((id) => id != null);
+    if (ids.length === 0) return [];
+    try {
+        const query = encodeURIComponent(ids.join(","));
+        return await apiGet(`${apiBase}/attachments?tradeIds=${query}`, token);
+    } catch (err) {
+        if (err?.status) {
+            const text = err.bodyText ?? "";
+            const error = new Error(`Load attachments failed (${err.status}): ${text}`);
+            error.status = err.status;
+            error.bodyText = text;
+            throw error;
+        }
+        throw err;
+    }
+}
+
 export async function uploadTradeAttachment(apiBase, token, tradeId, formData) {
     try {
         return await apiPostForm(`${apiBase}/trades/${tradeId}/attachments`, token, formData);
@@ -0,0 +1,19 @@
+import { apiGet } from "../../../shared/api/http";
+
+export async function getSyncCursor(apiBase, token) {
+    const data = await apiGet(`${apiBase}/sync/cursor`, token);
+    return data?.cursor ?? 0;
+}
+
+// Follows hasMore until the server has nothing newer; a 410 means the cursor is unknown and the caller must reload.
+export async function getChangesSince(apiBase, token, since) {
+    let cursor = since;
+    const changes = [];
+    for (;;) {
+        const data = await apiGet(`${apiBase}/sync?since=${encodeURIComponent(cursor)}`, token);
+        changes.push(...(data?.changes ?? []));
+        cursor = data?.cursor ?? cursor;
+        if (!data?.hasMore) break;
+    }
+    return { cursor, changes };
+}
@@ -0,0 +1,23 @@
+export function applySyncChanges(rows, changes, type, payloadKey, compare) {
+    const relevant = changes.filter((change) => change.type === type);
+    if (!relevant.length) return rows;
+    const byId = new Map((rows || []).map((row) => [row.id, row]));
+    for (const change of relevant) {
+        if (change.op === "DELETE") {
+            byId.delete(change.id);
+        } else if (change[payloadKey]) {
+            byId.set(change.id, change[payloadKey]);
+        }
+    }
+    return Array.from(byId.values()).sort(compare);
+}
+
+function newestFirst(field) {
+    return (a, b) => {
+        const diff = new Date(b[field]).getTime() - new Date(a[field]).getTime();
+        return diff !== 0 ? diff : (b.id ?? 0) - (a.id ?? 0);
+    };
+}
+
+export const compareTradesNewestFirst = newestFirst("createdAt");
+export const compareCashflowsNewestFirst = newestFirst("occurredAt");
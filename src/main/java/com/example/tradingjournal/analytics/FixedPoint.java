@@ -0,0 +1,73 @@
+package com.example.tradingjournal.analytics;
+
+import java.math.BigDecimal;
+
+/**
+ * Scaled-long fixed point for analytics over many rows.
+ * <p>
+ * A value is stored as its unscaled long at the column's scale: prices are {@code numeric(18,8)} and money is
+ * {@code numeric(18,2)}, so every stored value fits a long (18 digits stay below 2^63) and converts both ways without
+ * rounding. Sums and differences at one scale are plain long arithmetic. {@link #NULL} marks a missing value in
+ * columns; it is outside the range any 18 digit column can hold.
+ */
+public final class FixedPoint {
+
+    public static final int PRICE_SCALE = 8;
+    public static final int MONEY_SCALE = 2;
+    public static final long NULL = Long.MIN_VALUE;
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L
+    };
+
+    private FixedPoint() {
+    }
+
+    public static long price(BigDecimal value) {
+        return toScaled(value, PRICE_SCALE);
+    }
+
+    public static long money(BigDecimal value) {
+        return toScaled(value, MONEY_SCALE);
+    }
+
+    public static BigDecimal priceToDecimal(long scaled) {
+        return toDecimal(scaled, PRICE_SCALE);
+    }
+
+    public static BigDecimal moneyToDecimal(long scaled) {
+        return toDecimal(scaled, MONEY_SCALE);
+    }
+
+    /**
+     * Exact conversion; null maps to {@link #NULL}.
+     *
+     * @throws ArithmeticException if the value has more fractional digits than {@code scale} or does not fit a long
+     */
+    public static long toScaled(BigDecimal value, int scale) {
+        if (value == null) {
+            return NULL;
+        }
+        int valueScale = value.scale();
+        if (valueScale >= 0 && valueScale <= scale && value.precision() <= 18) {
+            // Common case: the unscaled value already fits a long, so only a multiply is needed.
+            return Math.multiplyExact(value.unscaledValue().longValue(), POWERS_OF_TEN[scale - valueScale]);
+        }
+        long scaled = value.setScale(scale).unscaledValue().longValueExact();
+        if (scaled == NULL) {
+            throw new ArithmeticException("Value out of fixed point range: " + value);
+        }
+        return scaled;
+    }
+
+    /**
+     * Inverse of {@link #toScaled}; {@link #NULL} maps to null.
+     */
+    public static BigDecimal toDecimal(long scaled, int scale) {
+        return scaled == NULL ? null : BigDecimal.valueOf(scaled, scale);
+    }
+
+    public static boolean isNull(long scaled) {
+        return scaled == NULL;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.tradingjournal.analytics;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.service.InstrumentRegistry;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable column-per-field copy of one user's trades for analytics loops.
+ * <p>
+ * Prices and money are {@link FixedPoint} longs, times are epoch milliseconds and the symbol is the
+ * {@link InstrumentRegistry} id, so scanning a column touches one primitive array and allocates nothing. Missing
+ * numbers and times are {@link FixedPoint#NULL}; an unknown symbol is {@code -1}. Rows keep the order of the list the
+ * snapshot was built from.
+ */
+public final class TradeSnapshot {
+
+    private final int size;
+    private final long[] ids;
+    private final int[] symbolIds;
+    private final boolean[] longSide;
+    private final long[] createdAt;
+    private final long[] closedAt;
+    private final long[] entryPrice;
+    private final long[] exitPrice;
+    private final long[] stopLossPrice;
+    private final long[] takeProfitPrice;
+    private final long[] commissionMoney;
+    private final long[] swapMoney;
+    private final long[] netPnlMoney;
+
+    private TradeSnapshot(int size) {
+        this.size = size;
+        this.ids = new long[size];
+        this.symbolIds = new int[size];
+        this.longSide = new boolean[size];
+        this.createdAt = new long[size];
+        this.closedAt = new long[size];
+        this.entryPrice = new long[size];
+        this.exitPrice = new long[size];
+        this.stopLossPrice = new long[size];
+        this.takeProfitPrice = new long[size];
+        this.commissionMoney = new long[size];
+        this.swapMoney = new long[size];
+        this.netPnlMoney = new long[size];
+    }
+
+    public static TradeSnapshot of(List<Trade> trades, InstrumentRegistry instruments) {
+        TradeSnapshot snapshot = new TradeSnapshot(trades.size());
+        for (int i = 0; i < snapshot.size; i++) {
+            Trade trade = trades.get(i);
+            InstrumentRegistry.Instrument instrument = instruments.find(trade.getSymbol());
+            snapshot.ids[i] = trade.getId();
+            snapshot.symbolIds[i] = instrument == null ? -1 : instrument.id();
+            snapshot.longSide[i] = "LONG".equalsIgnoreCase(trade.getDirection());
+            snapshot.createdAt[i] = epochMillis(trade.getCreatedAt());
+            snapshot.closedAt[i] = epochMillis(trade.getClosedAt());
+            snapshot.entryPrice[i] = FixedPoint.price(trade.getEntryPrice());
+            snapshot.exitPrice[i] = FixedPoint.price(trade.getExitPrice());
+            snapshot.stopLossPrice[i] = FixedPoint.price(trade.getStopLossPrice());
+            snapshot.takeProfitPrice[i] = FixedPoint.price(trade.getTakeProfitPrice());
+            snapshot.commissionMoney[i] = FixedPoint.money(trade.getCommissionMoney());
+            snapshot.swapMoney[i] = FixedPoint.money(trade.getSwapMoney());
+            snapshot.netPnlMoney[i] = FixedPoint.money(trade.getNetPnlMoney());
+        }
+        return snapshot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long id(int row) {
+        return ids[row];
+    }
+
+    public int symbolId(int row) {
+        return symbolIds[row];
+    }
+
+    public boolean isLong(int row) {
+        return longSide[row];
+    }
+
+    public long createdAt(int row) {
+        return createdAt[row];
+    }
+
+    public long closedAt(int row) {
+        return closedAt[row];
+    }
+
+    public long entryPrice(int row) {
+        return entryPrice[row];
+    }
+
+    public long exitPrice(int row) {
+        return exitPrice[row];
+    }
+
+    public long stopLossPrice(int row) {
+        return stopLossPrice[row];
+    }
+
+    public long takeProfitPrice(int row) {
+        return takeProfitPrice[row];
+    }
+
+    public long commissionMoney(int row) {
+        return commissionMoney[row];
+    }
+
+    public long swapMoney(int row) {
+        return swapMoney[row];
+    }
+
+    public long netPnlMoney(int row) {
+        return netPnlMoney[row];
+    }
+
+    /**
+     * Sum of net P&L over closed trades at {@link FixedPoint#MONEY_SCALE}.
+     */
+    public long totalNetPnlMoney() {
+        long total = 0;
+        for (int i = 0; i < size; i++) {
+            long pnl = netPnlMoney[i];
+            if (pnl != FixedPoint.NULL && closedAt[i] != FixedPoint.NULL) {
+                total = Math.addExact(total, pnl);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Running net P&L over closed trades in row order, at {@link FixedPoint#MONEY_SCALE}; open trades and trades
+     * without a P&L repeat the previous value.
+     */
+    public long[] cumulativeNetPnlMoney() {
+        long[] curve = new long[size];
+        long running = 0;
+        for (int i = 0; i < size; i++) {
+            long pnl = netPnlMoney[i];
+            if (pnl != FixedPoint.NULL && closedAt[i] != FixedPoint.NULL) {
+                running = Math.addExact(running, pnl);
+            }
+            curve[i] = running;
+        }
+        return curve;
+    }
+
+    private static long epochMillis(Instant instant) {
+        return instant == null ? FixedPoint.NULL : instant.toEpochMilli();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.tradingjournal.config;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.flyway.autoconfigure.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+
+/**
+ * Tables are still created by Hibernate ({@code ddl-auto=update}); Flyway manages what JPA cannot express,
+ * such as descending and partial indexes. That only works if Flyway runs after the schema exists, so the
+ * default "migrate before JPA" step is replaced with one that runs once the EntityManagerFactory is up.
+ * <p>
+ * The pre-existing {@code V1_..V13_} scripts use a single underscore and have never been picked up by Flyway;
+ * {@code spring.flyway.baseline-version} marks them as applied and new scripts start at V14.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy deferredFlywayMigrationStrategy() {
+        return flyway -> {
+        };
+    }
+
+    @Bean
+    @DependsOn("entityManagerFactory")
+    public InitializingBean flywayMigrateAfterJpa(Flyway flyway) {
+        return flyway::migrate;
+    }
+}
@@ -4,6 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+/**
+ * Jackson 2 mapper for outbound calls and stored payloads. HTTP responses go through Spring Boot's Jackson 3
+ * mappers instead; with the Smile and CBOR dataformats on the classpath, Spring MVC registers their converters next
+ * to JSON and picks one from the request's {@code Accept} header.
+ */
 @Configuration
 public class JacksonConfig {
 
@@ -0,0 +1,77 @@
+package com.example.tradingjournal.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to a read replica and everything else to the primary.
+ * <p>
+ * The exposed {@code dataSource} is a {@link LazyConnectionDataSourceProxy}: the physical connection is only fetched
+ * at the first statement, by which point the transaction manager has flagged the connection read-only, so the
+ * proxy can pick the replica pool. Enable with {@code app.datasource.routing.enabled=true}; the replica uses
+ * {@code app.datasource.read.*} and falls back to the primary credentials.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.read.hikari")
+    HikariDataSource replicaDataSource(
+            DataSourceProperties primary,
+            @Value("${app.datasource.read.url}") String url,
+            @Value("${app.datasource.read.username:}") String username,
+            @Value("${app.datasource.read.password:}") String password
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(StringUtils.hasText(username) ? username : primary.determineUsername());
+        dataSource.setPassword(StringUtils.hasText(password) ? password : primary.determinePassword());
+        dataSource.setDriverClassName(primary.determineDriverClassName());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    ReadYourWritesGuard readYourWritesGuard(@Value("${app.datasource.routing.read-your-writes-window:PT5S}") Duration window) {
+        return new ReadYourWritesGuard(window, Clock.systemUTC());
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            ReadYourWritesGuard guard
+    ) {
+        return routingDataSource(primary, replica, guard);
+    }
+
+    static DataSource routingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard guard) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(guard.recordingWrites(primary));
+        proxy.setReadOnlyDataSource(guard.routingReads(replica, primary));
+        return proxy;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.tradingjournal.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps a user's reads on the primary for a short window after that user wrote, so replica lag never makes a
+ * just-saved trade disappear from the next list call.
+ * <p>
+ * Writes are recognised by a read-write connection being taken from the primary on behalf of an authenticated user.
+ * The window restarts when that transaction completes. State is per node; behind a load balancer without sticky
+ * sessions the window should cover the expected replica lag on its own.
+ */
+public class ReadYourWritesGuard {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final Clock clock;
+    private final long windowMillis;
+    private final ConcurrentMap<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+
+    public ReadYourWritesGuard(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    public void markWrite(String user) {
+        long now = clock.millis();
+        lastWriteByUser.put(user, now);
+        if (lastWriteByUser.size() > PRUNE_THRESHOLD) {
+            lastWriteByUser.values().removeIf(at -> now - at > windowMillis);
+        }
+    }
+
+    public boolean isPinnedToPrimary(String user) {
+        if (user == null) {
+            return false;
+        }
+        Long lastWrite = lastWriteByUser.get(user);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (clock.millis() - lastWrite > windowMillis) {
+            lastWriteByUser.remove(user, lastWrite);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Wraps the primary pool so read-write connections mark the current user.
+     */
+    DataSource recordingWrites(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                recordCurrentUserWrite();
+                return super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                recordCurrentUserWrite();
+                return super.getConnection(username, password);
+            }
+        };
+    }
+
+    /**
+     * Wraps the replica pool so pinned users are served by the primary instead.
+     */
+    DataSource routingReads(DataSource replica, DataSource primary) {
+        return new DelegatingDataSource(replica) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return isPinnedToPrimary(currentUser()) ? primary.getConnection() : super.getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return isPinnedToPrimary(currentUser())
+                        ? primary.getConnection(username, password)
+                        : super.getConnection(username, password);
+            }
+        };
+    }
+
+    private void recordCurrentUserWrite() {
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        markWrite(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    markWrite(user);
+                }
+            });
+        }
+    }
+
+    private static String currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth == null || !auth.isAuthenticated() ? null : auth.getName();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.tradingjournal.config;
 
 import com.example.tradingjournal.security.JwtAuthFilter;
+import com.example.tradingjournal.web.RateLimitFilter;
+import com.example.tradingjournal.web.UploadAdmissionFilter;
 import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -20,9 +22,13 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final UploadAdmissionFilter uploadAdmissionFilter;
 
-    public SecurityConfig(JwtAuthFilter jwtFilter) {
+    public SecurityConfig(JwtAuthFilter jwtFilter, RateLimitFilter rateLimitFilter, UploadAdmissionFilter uploadAdmissionFilter) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.uploadAdmissionFilter = uploadAdmissionFilter;
     }
 
     // ✅ API (JWT)
@@ -30,7 +36,7 @@ public class SecurityConfig {
     @Order(1)
     public SecurityFilterChain apiChain(HttpSecurity http) throws Exception {
         return http
-                .securityMatcher("/api/**")
+                .securityMatcher("/api/**", "/actuator/**")
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
                 .sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -40,12 +46,18 @@ public class SecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll()
                         .requestMatchers("/api/quote/test").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/instruments").permitAll()
                         .requestMatchers("/h2-console").permitAll()   // ✅ allow console
                         .requestMatchers(HttpMethod.OPTIONS, "/api/**").permitAll()
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .headers(h -> h.frameOptions(HeadersConfigurer.FrameOptionsConfig::sameOrigin)) // ✅ H2 uses frames
                 .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthFilter.class)
+                .addFilterAfter(uploadAdmissionFilter, RateLimitFilter.class)
                 .build();
     }
 
@@ -0,0 +1,23 @@
+package com.example.tradingjournal.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring Boot silently ignores {@code spring.threads.virtual.enabled} below Java 21, which would leave a deployment
+ * that asked for virtual threads ({@code APP_VIRTUAL_THREADS=true}) on platform threads without anyone noticing.
+ * Refuse to start instead.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+
+    static final int MIN_FEATURE_VERSION = 21;
+
+    public VirtualThreadsConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        int runtime = Runtime.version().feature();
+        if (virtualThreads && runtime < MIN_FEATURE_VERSION) {
+            throw new IllegalStateException("spring.threads.virtual.enabled (APP_VIRTUAL_THREADS) needs Java "
+                    + MIN_FEATURE_VERSION + " or newer, this runtime is Java " + runtime);
+        }
+    }
+}
@@ -11,13 +11,22 @@ import java.nio.file.Paths;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     private final String uploadDir;
+    private final String storageType;
 
-    public WebConfig(@Value("${app.upload.dir:uploads}") String uploadDir) {
+    public WebConfig(
+            @Value("${app.upload.dir:uploads}") String uploadDir,
+            @Value("${app.storage.type:local}") String storageType
+    ) {
         this.uploadDir = uploadDir;
+        this.storageType = storageType;
     }
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        // Remote blob stores hand out direct URLs, so only local storage is served by this node.
+        if (!"local".equalsIgnoreCase(storageType)) {
+            return;
+        }
         Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
         String location = uploadPath.toUri().toString();
         registry.addResourceHandler("/uploads/**")
@@ -0,0 +1,78 @@
+package com.example.tradingjournal.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import javax.sql.DataSource;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts SQL statements and DB time on the application DataSource and attributes them to repository methods.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    @Bean
+    static BeanPostProcessor sqlStatsDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Only the primary DataSource is wrapped; wrapping delegates as well would double count.
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    static BeanPostProcessor repositorySqlStatsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(repositoryInterceptor(
+                                    repositoryInformation.getRepositoryInterface().getSimpleName(), meterRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryInterceptor(String repository, ObjectProvider<MeterRegistry> meterRegistry) {
+        return invocation -> {
+            SqlStats.Snapshot start = SqlStats.snapshot();
+            try {
+                return invocation.proceed();
+            } finally {
+                SqlStats.Snapshot used = SqlStats.snapshot().since(start);
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null && used.statements() > 0) {
+                    String method = repository + "." + invocation.getMethod().getName();
+                    DistributionSummary.builder("repository.sql.statements")
+                            .tag("method", method)
+                            .register(registry)
+                            .record(used.statements());
+                    Timer.builder("repository.sql.time")
+                            .tag("method", method)
+                            .register(registry)
+                            .record(used.elapsedNanos(), TimeUnit.NANOSECONDS);
+                }
+            }
+        };
+    }
+}
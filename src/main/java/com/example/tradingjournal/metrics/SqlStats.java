@@ -0,0 +1,63 @@
+package com.example.tradingjournal.metrics;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Thread-local SQL accounting.
+ * <p>
+ * Running totals are always kept per thread, so any caller can take a {@link Snapshot} before and after a unit of
+ * work and diff them. While a request scope is open, identical statements are also counted to spot N+1 patterns.
+ */
+public final class SqlStats {
+
+    private static final ThreadLocal<Totals> TOTALS = ThreadLocal.withInitial(Totals::new);
+    private static final ThreadLocal<Map<String, Integer>> REQUEST_STATEMENTS = new ThreadLocal<>();
+
+    private SqlStats() {
+    }
+
+    public record Snapshot(long statements, long elapsedNanos) {
+        public Snapshot since(Snapshot start) {
+            return new Snapshot(statements - start.statements, elapsedNanos - start.elapsedNanos);
+        }
+
+        /**
+         * Elapsed time in milliseconds with microsecond precision, e.g. {@code 0.412}.
+         */
+        public String elapsedMillisText() {
+            return String.format(Locale.ROOT, "%.3f", elapsedNanos / 1_000_000.0);
+        }
+    }
+
+    static void record(String sql, int statements, long elapsedNanos) {
+        Totals totals = TOTALS.get();
+        totals.statements += statements;
+        totals.elapsedNanos += elapsedNanos;
+        Map<String, Integer> requestStatements = REQUEST_STATEMENTS.get();
+        if (requestStatements != null && sql != null) {
+            requestStatements.merge(sql, statements, Integer::sum);
+        }
+    }
+
+    public static Snapshot snapshot() {
+        Totals totals = TOTALS.get();
+        return new Snapshot(totals.statements, totals.elapsedNanos);
+    }
+
+    static void beginRequest() {
+        REQUEST_STATEMENTS.set(new HashMap<>());
+    }
+
+    static Map<String, Integer> endRequest() {
+        Map<String, Integer> statements = REQUEST_STATEMENTS.get();
+        REQUEST_STATEMENTS.remove();
+        return statements == null ? Map.of() : statements;
+    }
+
+    private static final class Totals {
+        private long statements;
+        private long elapsedNanos;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.tradingjournal.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records statements and DB time per HTTP request, tagged by the matched route, and warns about likely N+1 loops.
+ * Registered ahead of Spring Security so the user lookup done during JWT authentication is included.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    static final String START_ATTRIBUTE = SqlStatsFilter.class.getName() + ".start";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatsFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final boolean debugHeader;
+    private final int repeatThreshold;
+
+    public SqlStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.sql-stats.debug-header:false}") boolean debugHeader,
+            @Value("${app.sql-stats.n-plus-one-threshold:10}") int repeatThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.debugHeader = debugHeader;
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStats.Snapshot start = SqlStats.snapshot();
+        req.setAttribute(START_ATTRIBUTE, start);
+        SqlStats.beginRequest();
+        Map<String, Integer> statements = Map.of();
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            statements = SqlStats.endRequest();
+            SqlStats.Snapshot used = SqlStats.snapshot().since(start);
+            // Bodiless responses are not committed yet; the ones with a body got the header from SqlStatsResponseAdvice.
+            if (debugHeader && !res.isCommitted()) {
+                writeHeaders(res, used);
+            }
+            record(req, used, statements);
+        }
+    }
+
+    boolean isDebugHeaderEnabled() {
+        return debugHeader;
+    }
+
+    static void writeHeaders(HttpServletResponse res, SqlStats.Snapshot used) {
+        res.setHeader(STATEMENTS_HEADER, Long.toString(used.statements()));
+        res.setHeader(TIME_HEADER, used.elapsedMillisText());
+    }
+
+    private void record(HttpServletRequest req, SqlStats.Snapshot used, Map<String, Integer> statements) {
+        Object pattern = req.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        DistributionSummary.builder("http.server.sql.statements")
+                .tag("method", req.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(used.statements());
+        Timer.builder("http.server.sql.time")
+                .tag("method", req.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(used.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        statements.forEach((sql, count) -> {
+            if (count >= repeatThreshold) {
+                logger.warn("Possible N+1: {} {} ran the same statement {} times: {}", req.getMethod(), uri, count, sql);
+            }
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.tradingjournal.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Feeds every JDBC execution on the proxied DataSource into {@link SqlStats}.
+ */
+class SqlStatsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = SqlStatsListener.class.getName() + ".start";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        // ExecutionInfo.getElapsedTime() is in whole milliseconds, which rounds most indexed lookups down to 0.
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.isEmpty() ? null : queryInfoList.get(0).getQuery();
+        // A JDBC batch is one round trip, however many statements it carries.
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        SqlStats.record(sql, 1, start == null ? 0 : System.nanoTime() - start);
+    }
+}
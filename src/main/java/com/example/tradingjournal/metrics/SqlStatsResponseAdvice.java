@@ -0,0 +1,44 @@
+package com.example.tradingjournal.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the SQL debug headers just before a response body is written, while headers can still be set.
+ */
+@RestControllerAdvice
+public class SqlStatsResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlStatsFilter filter;
+
+    public SqlStatsResponseAdvice(SqlStatsFilter filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return filter.isDebugHeaderEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            HttpServletRequest req = servletRequest.getServletRequest();
+            if (req.getAttribute(SqlStatsFilter.START_ATTRIBUTE) instanceof SqlStats.Snapshot start) {
+                SqlStats.Snapshot used = SqlStats.snapshot().since(start);
+                response.getHeaders().set(SqlStatsFilter.STATEMENTS_HEADER, Long.toString(used.statements()));
+                response.getHeaders().set(SqlStatsFilter.TIME_HEADER, used.elapsedMillisText());
+            }
+        }
+        return body;
+    }
+}
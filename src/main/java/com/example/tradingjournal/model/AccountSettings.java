@@ -1,11 +1,14 @@
 package com.example.tradingjournal.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.Instant;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "account-settings")
 @Table(
         name = "account_settings",
         uniqueConstraints = @UniqueConstraint(columnNames = "user_id")
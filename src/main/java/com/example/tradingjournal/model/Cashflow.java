@@ -1,6 +1,7 @@
 package com.example.tradingjournal.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -30,6 +31,12 @@ public class Cashflow {
 
     @Column(name = "created_at", nullable = false)
     private Instant createdAt;
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+    // Owner's data version at the last write; the cursor for /api/sync.
+    @Column(name = "sync_version", nullable = false)
+    @ColumnDefault("0")
+    private long syncVersion;
 
     public Cashflow() {
     }
@@ -89,4 +96,20 @@ public class Cashflow {
     public void setCreatedAt(Instant createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public void setSyncVersion(long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
 }
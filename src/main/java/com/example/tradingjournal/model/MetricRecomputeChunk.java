@@ -0,0 +1,79 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Checkpoint for one id range {@code [startId, endId)} of a {@link MetricRecomputeJob}; pending until
+ * {@code completedAt} is set.
+ */
+@Entity
+@Table(name = "metric_recompute_chunks")
+public class MetricRecomputeChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "start_id", nullable = false)
+    private long startId;
+
+    @Column(name = "end_id", nullable = false)
+    private long endId;
+
+    @Column(name = "scanned_trades", nullable = false)
+    private int scannedTrades;
+
+    @Column(name = "updated_trades", nullable = false)
+    private int updatedTrades;
+
+    @Column(name = "completed_at")
+    private Instant completedAt;
+
+    public MetricRecomputeChunk() {
+    }
+
+    public MetricRecomputeChunk(Long jobId, long startId, long endId) {
+        this.jobId = jobId;
+        this.startId = startId;
+        this.endId = endId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public long getStartId() {
+        return startId;
+    }
+
+    public long getEndId() {
+        return endId;
+    }
+
+    public int getScannedTrades() {
+        return scannedTrades;
+    }
+
+    public int getUpdatedTrades() {
+        return updatedTrades;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void complete(int scannedTrades, int updatedTrades, Instant completedAt) {
+        this.scannedTrades = scannedTrades;
+        this.updatedTrades = updatedTrades;
+        this.completedAt = completedAt;
+    }
+}
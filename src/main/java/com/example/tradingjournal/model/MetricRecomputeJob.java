@@ -0,0 +1,117 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * An admin-started recompute of the derived trade columns over trade ids {@code 1..maxTradeId}, split into
+ * {@link MetricRecomputeChunk}s. Counters are advanced in the same transaction that completes a chunk.
+ */
+@Entity
+@Table(name = "metric_recompute_jobs")
+public class MetricRecomputeJob {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String CANCELLED = "CANCELLED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "status", nullable = false, length = 20)
+    private String status;
+
+    // Trades created after the job started already have current metrics.
+    @Column(name = "max_trade_id", nullable = false)
+    private long maxTradeId;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private int totalChunks;
+
+    @Column(name = "completed_chunks", nullable = false)
+    private int completedChunks;
+
+    @Column(name = "scanned_trades", nullable = false)
+    private long scannedTrades;
+
+    @Column(name = "updated_trades", nullable = false)
+    private long updatedTrades;
+
+    // Rows whose prices no longer pass validation; they keep their old metrics.
+    @Column(name = "failed_trades", nullable = false)
+    private long failedTrades;
+
+    @Column(name = "started_at", nullable = false)
+    private Instant startedAt;
+
+    @Column(name = "finished_at")
+    private Instant finishedAt;
+
+    public MetricRecomputeJob() {
+    }
+
+    public MetricRecomputeJob(long maxTradeId, int chunkSize, int totalChunks, Instant startedAt) {
+        this.status = RUNNING;
+        this.maxTradeId = maxTradeId;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+        this.startedAt = startedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public long getMaxTradeId() {
+        return maxTradeId;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    public int getCompletedChunks() {
+        return completedChunks;
+    }
+
+    public long getScannedTrades() {
+        return scannedTrades;
+    }
+
+    public long getUpdatedTrades() {
+        return updatedTrades;
+    }
+
+    public long getFailedTrades() {
+        return failedTrades;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A side effect of a trade, cashflow or attachment write, stored in the same transaction as the write and
+ * delivered afterwards by the outbox dispatcher.
+ */
+@Entity
+@Table(name = "outbox_events")
+public class OutboxEvent {
+
+    public static final String TRADE_CREATED = "TRADE_CREATED";
+    public static final String TRADE_UPDATED = "TRADE_UPDATED";
+    public static final String TRADE_DELETED = "TRADE_DELETED";
+    public static final String CASHFLOW_CREATED = "CASHFLOW_CREATED";
+    public static final String CASHFLOW_UPDATED = "CASHFLOW_UPDATED";
+    public static final String CASHFLOW_DELETED = "CASHFLOW_DELETED";
+    public static final String ATTACHMENT_CREATED = "ATTACHMENT_CREATED";
+    public static final String ATTACHMENT_DELETED = "ATTACHMENT_DELETED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    private String eventType;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    // Small JSON object, or null when the ids say everything.
+    @Column(name = "payload", length = 4000)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    // Not delivered before this time: set on insert, on every claim (the lease) and on retry backoff.
+    @Column(name = "available_at", nullable = false)
+    private Instant availableAt;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    // Set once attempts are exhausted; such events are no longer polled.
+    @Column(name = "failed_at")
+    private Instant failedAt;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String eventType, Long userId, Long aggregateId, String payload, Instant createdAt) {
+        this.eventType = eventType;
+        this.userId = userId;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+        this.availableAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getAvailableAt() {
+        return availableAt;
+    }
+
+    public void setAvailableAt(Instant availableAt) {
+        this.availableAt = availableAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Instant getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(Instant failedAt) {
+        this.failedAt = failedAt;
+    }
+}
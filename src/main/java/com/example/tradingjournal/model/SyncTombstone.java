@@ -0,0 +1,70 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Records a deleted trade or cashflow so delta sync clients can drop it locally.
+ */
+@Entity
+@Table(name = "sync_tombstones")
+public class SyncTombstone {
+
+    public static final String TRADE = "TRADE";
+    public static final String CASHFLOW = "CASHFLOW";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "sync_version", nullable = false)
+    private long syncVersion;
+
+    @Column(name = "deleted_at", nullable = false)
+    private Instant deletedAt;
+
+    public SyncTombstone() {
+    }
+
+    public SyncTombstone(Long userId, String entityType, Long entityId, long syncVersion, Instant deletedAt) {
+        this.userId = userId;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.syncVersion = syncVersion;
+        this.deletedAt = deletedAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public Instant getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.tradingjournal.model;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.Instant;
 
@@ -55,6 +56,12 @@ public class Trade {
     private Instant createdAt;
     @Column(name = "closed_at")
     private Instant closedAt;
+    @Column(name = "updated_at")
+    private Instant updatedAt;
+    // Owner's data version at the last write; the cursor for /api/sync.
+    @Column(name = "sync_version", nullable = false)
+    @ColumnDefault("0")
+    private long syncVersion;
 
     public Trade(String symbol, String direction, BigDecimal entryPrice1, Instant createdAt) {
         this.symbol = symbol;
@@ -266,5 +273,19 @@ public class Trade {
         this.pipSizeUsed = pipSizeUsed;
     }
 
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
 
+    public long getSyncVersion() {
+        return syncVersion;
+    }
+
+    public void setSyncVersion(long syncVersion) {
+        this.syncVersion = syncVersion;
+    }
 }
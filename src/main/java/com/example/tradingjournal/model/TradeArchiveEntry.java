@@ -0,0 +1,37 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Marks a trade id as living in an archive segment instead of the trades table.
+ */
+@Entity
+@Table(name = "trade_archive_entries")
+public class TradeArchiveEntry {
+
+    @Id
+    @Column(name = "trade_id")
+    private Long tradeId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "segment_id", nullable = false)
+    private TradeArchiveSegment segment;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    public TradeArchiveEntry() {
+    }
+
+    public Long getTradeId() {
+        return tradeId;
+    }
+
+    public TradeArchiveSegment getSegment() {
+        return segment;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * One immutable file of archived trades for a user, stored in the blob store under {@link #getBlobKey()}.
+ * <p>
+ * Which trades in the file are still archived is tracked by {@link TradeArchiveEntry}; rehydrated trades stay in
+ * the file but lose their entry.
+ */
+@Entity
+@Table(name = "trade_archive_segments")
+public class TradeArchiveSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "blob_key", nullable = false)
+    private String blobKey;
+
+    @Column(name = "trade_count", nullable = false)
+    private int tradeCount;
+
+    @Column(name = "byte_size", nullable = false)
+    private long byteSize;
+
+    // Range of created_at in the file, so range reads can skip it without downloading.
+    @Column(name = "min_created_at", nullable = false)
+    private Instant minCreatedAt;
+
+    @Column(name = "max_created_at", nullable = false)
+    private Instant maxCreatedAt;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public TradeArchiveSegment() {
+    }
+
+    public TradeArchiveSegment(Long userId, String blobKey, int tradeCount, long byteSize,
+                               Instant minCreatedAt, Instant maxCreatedAt, Instant createdAt) {
+        this.userId = userId;
+        this.blobKey = blobKey;
+        this.tradeCount = tradeCount;
+        this.byteSize = byteSize;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getBlobKey() {
+        return blobKey;
+    }
+
+    public int getTradeCount() {
+        return tradeCount;
+    }
+
+    public long getByteSize() {
+        return byteSize;
+    }
+
+    public Instant getMinCreatedAt() {
+        return minCreatedAt;
+    }
+
+    public Instant getMaxCreatedAt() {
+        return maxCreatedAt;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -31,6 +31,13 @@ public class TradeAttachment {
     @Column(name = "relative_path", nullable = false, length = 500)
     private String relativePath;
 
+    // The uploaded PNG, kept next to its JPEG re-encode when app.upload.optimize.keep-original is set.
+    @Column(name = "original_relative_path", length = 500)
+    private String originalRelativePath;
+
+    @Column(name = "original_file_size")
+    private Long originalFileSize;
+
     @Column(name = "timeframe", length = 20)
     private String timeframe;
 
@@ -89,6 +96,29 @@ public class TradeAttachment {
         this.relativePath = relativePath;
     }
 
+    public String getOriginalRelativePath() {
+        return originalRelativePath;
+    }
+
+    public void setOriginalRelativePath(String originalRelativePath) {
+        this.originalRelativePath = originalRelativePath;
+    }
+
+    public Long getOriginalFileSize() {
+        return originalFileSize;
+    }
+
+    public void setOriginalFileSize(Long originalFileSize) {
+        this.originalFileSize = originalFileSize;
+    }
+
+    /**
+     * Bytes this attachment holds in the blob store, including a kept original.
+     */
+    public long getStoredBytes() {
+        return fileSize + (originalFileSize != null ? originalFileSize : 0);
+    }
+
     public String getTimeframe() {
         return timeframe;
     }
@@ -0,0 +1,77 @@
+package com.example.tradingjournal.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_storage_usage")
+public class UserStorageUsage {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "bytes_used", nullable = false)
+    private long bytesUsed;
+
+    @Column(name = "file_count", nullable = false)
+    private long fileCount;
+
+    // Per-user override of the configured quota; null means the default applies.
+    @Column(name = "quota_bytes")
+    private Long quotaBytes;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public UserStorageUsage() {
+    }
+
+    public UserStorageUsage(Long userId, long bytesUsed, long fileCount, Instant updatedAt) {
+        this.userId = userId;
+        this.bytesUsed = bytesUsed;
+        this.fileCount = fileCount;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getBytesUsed() {
+        return bytesUsed;
+    }
+
+    public void setBytesUsed(long bytesUsed) {
+        this.bytesUsed = bytesUsed;
+    }
+
+    public long getFileCount() {
+        return fileCount;
+    }
+
+    public void setFileCount(long fileCount) {
+        this.fileCount = fileCount;
+    }
+
+    public Long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    public void setQuotaBytes(Long quotaBytes) {
+        this.quotaBytes = quotaBytes;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Instant updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
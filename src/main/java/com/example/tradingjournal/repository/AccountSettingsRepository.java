@@ -1,10 +1,21 @@
 package com.example.tradingjournal.repository;
 
 import com.example.tradingjournal.model.AccountSettings;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.Optional;
 
-public interface AccountSettingsRepository extends JpaRepository<AccountSettings, Long> {
+public interface AccountSettingsRepository extends JpaRepository<AccountSettings, Long>, AccountSettingsUpsertRepository {
+    String BY_USER_QUERY_REGION = "account-settings-by-user";
+
+    // Cached result is the settings id; the entity itself then comes from the account-settings region. Its own
+    // region so that a user's first save, which may turn a cached "no settings" stale, clears only these results.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = BY_USER_QUERY_REGION)
+    })
     Optional<AccountSettings> findByUserId(Long userId);
 }
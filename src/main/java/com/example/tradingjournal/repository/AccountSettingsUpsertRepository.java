@@ -0,0 +1,13 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.AccountSettings;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Creates or updates a user's settings in one statement, so concurrent first saves cannot both insert.
+ */
+public interface AccountSettingsUpsertRepository {
+    AccountSettings upsert(Long userId, BigDecimal startingBalance, BigDecimal riskPercent, String currency, Instant now);
+}
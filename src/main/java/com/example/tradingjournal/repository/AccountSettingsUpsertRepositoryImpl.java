@@ -0,0 +1,121 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.AccountSettings;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+class AccountSettingsUpsertRepositoryImpl implements AccountSettingsUpsertRepository {
+
+    // Native, and run as a query through RETURNING: an HQL or native executeUpdate goes through Hibernate's
+    // bulk-operation cleanup, which evicts the whole account-settings region (and cached queries) on every save.
+    // xmax = 0 only for a row this statement inserted.
+    private static final String UPSERT = """
+            insert into account_settings (user_id, starting_balance, risk_percent, currency, created_at, updated_at)
+            values (:userId, :startingBalance, :riskPercent, :currency, :now, :now)
+            on conflict (user_id) do update
+               set starting_balance = excluded.starting_balance,
+                   risk_percent = excluded.risk_percent,
+                   currency = excluded.currency,
+                   updated_at = excluded.updated_at
+            returning id, (xmax = 0) as inserted
+            """;
+
+    // H2 (local development only) has neither ON CONFLICT nor RETURNING outside PostgreSQL mode.
+    private static final String FIND_ID_H2 = "select id from account_settings where user_id = :userId";
+    private static final String INSERT_H2 = """
+            insert into account_settings (user_id, starting_balance, risk_percent, currency, created_at, updated_at)
+            values (:userId, :startingBalance, :riskPercent, :currency, :now, :now)
+            """;
+    private static final String UPDATE_H2 = """
+            update account_settings
+               set starting_balance = :startingBalance, risk_percent = :riskPercent, currency = :currency, updated_at = :now
+             where user_id = :userId
+            """;
+
+    // Not the account_settings table: synchronizing on it would evict the whole account-settings region.
+    static final String UPSERT_QUERY_SPACE = "account_settings_upsert";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public AccountSettings upsert(Long userId, BigDecimal startingBalance, BigDecimal riskPercent, String currency, Instant now) {
+        boolean inserted = postgres()
+                ? upsertPostgres(userId, startingBalance, riskPercent, currency, now)
+                : upsertH2(userId, startingBalance, riskPercent, currency, now);
+        // Re-read by unique index in the same transaction; the row comes from the result set, not the cache.
+        AccountSettings saved = entityManager.createQuery("select s from AccountSettings s where s.user.id = :userId", AccountSettings.class)
+                .setParameter("userId", userId)
+                .getSingleResult();
+        evictAfterCompletion(saved.getId(), inserted);
+        return saved;
+    }
+
+    private boolean upsertPostgres(Long userId, BigDecimal startingBalance, BigDecimal riskPercent, String currency, Instant now) {
+        Object[] row = (Object[]) entityManager.createNativeQuery(UPSERT)
+                .setParameter("userId", userId)
+                .setParameter("startingBalance", startingBalance)
+                .setParameter("riskPercent", riskPercent)
+                .setParameter("currency", currency)
+                .setParameter("now", now)
+                .getSingleResult();
+        return Boolean.TRUE.equals(row[1]);
+    }
+
+    private boolean upsertH2(Long userId, BigDecimal startingBalance, BigDecimal riskPercent, String currency, Instant now) {
+        List<?> existing = entityManager.createNativeQuery(FIND_ID_H2)
+                .setParameter("userId", userId)
+                .getResultList();
+        entityManager.createNativeQuery(existing.isEmpty() ? INSERT_H2 : UPDATE_H2)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UPSERT_QUERY_SPACE)
+                .setParameter("userId", userId)
+                .setParameter("startingBalance", startingBalance)
+                .setParameter("riskPercent", riskPercent)
+                .setParameter("currency", currency)
+                .setParameter("now", now)
+                .executeUpdate();
+        return existing.isEmpty();
+    }
+
+    /**
+     * Evicts only this user's settings entry, once the new row is visible to other transactions. A first save also
+     * clears the findByUserId results region, which may hold this user's cached "no settings"; that happens once
+     * per user, not on every save.
+     */
+    private void evictAfterCompletion(Long settingsId, boolean inserted) {
+        Runnable evict = () -> {
+            SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+            sessionFactory.getCache().evictEntityData(AccountSettings.class, settingsId);
+            if (inserted) {
+                sessionFactory.getCache().evictQueryRegion(AccountSettingsRepository.BY_USER_QUERY_REGION);
+            }
+        };
+        evict.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
+
+    private boolean postgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.tradingjournal.repository;
 
 import com.example.tradingjournal.model.Cashflow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +12,5 @@ import java.util.Optional;
 public interface CashflowRepository extends JpaRepository<Cashflow, Long> {
     List<Cashflow> findAllByUserEmailOrderByOccurredAtDescIdDesc(String email);
     Optional<Cashflow> findByIdAndUserEmail(Long id, String email);
+    List<Cashflow> findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(Long userId, long fromVersion, long toVersion, Pageable pageable);
 }
@@ -0,0 +1,28 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.MetricRecomputeChunk;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MetricRecomputeChunkRepository extends JpaRepository<MetricRecomputeChunk, Long> {
+
+    @Query("select c.id from MetricRecomputeChunk c where c.jobId = :jobId and c.completedAt is null order by c.startId")
+    List<Long> findPendingIds(@Param("jobId") Long jobId);
+
+    long countByJobIdAndCompletedAtIsNull(Long jobId);
+
+    // SKIP LOCKED (lock timeout -2): a chunk another worker or node is processing reads as absent.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("select c from MetricRecomputeChunk c where c.id = :id and c.completedAt is null")
+    Optional<MetricRecomputeChunk> claim(@Param("id") Long id);
+}
@@ -0,0 +1,34 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.MetricRecomputeJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface MetricRecomputeJobRepository extends JpaRepository<MetricRecomputeJob, Long> {
+
+    Optional<MetricRecomputeJob> findFirstByOrderByIdDesc();
+
+    List<MetricRecomputeJob> findAllByStatus(String status);
+
+    boolean existsByStatus(String status);
+
+    @Query("select j.status from MetricRecomputeJob j where j.id = :id")
+    Optional<String> findStatus(@Param("id") Long id);
+
+    // Increments in place so parallel chunk transactions never overwrite each other's counts.
+    @Modifying
+    @Query("""
+            update MetricRecomputeJob j
+               set j.completedChunks = j.completedChunks + 1,
+                   j.scannedTrades = j.scannedTrades + :scanned,
+                   j.updatedTrades = j.updatedTrades + :updated,
+                   j.failedTrades = j.failedTrades + :failed
+             where j.id = :id
+            """)
+    int recordChunk(@Param("id") Long id, @Param("scanned") long scanned, @Param("updated") long updated, @Param("failed") long failed);
+}
@@ -0,0 +1,11 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.SyncTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface SyncTombstoneRepository extends JpaRepository<SyncTombstone, Long> {
+    List<SyncTombstone> findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(Long userId, long fromVersion, long toVersion, Pageable pageable);
+}
@@ -0,0 +1,37 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.TradeArchiveEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TradeArchiveEntryRepository extends JpaRepository<TradeArchiveEntry, Long> {
+
+    // One statement for the whole list read; returns nothing for users without archived trades.
+    @Query("""
+            select e from TradeArchiveEntry e join fetch e.segment
+             where e.userId in (select u.id from User u where u.email = :email)
+            """)
+    List<TradeArchiveEntry> findAllWithSegmentByUserEmail(@Param("email") String email);
+
+    @Query("""
+            select e from TradeArchiveEntry e join fetch e.segment
+             where e.tradeId = :tradeId and e.userId in (select u.id from User u where u.email = :email)
+            """)
+    Optional<TradeArchiveEntry> findWithSegment(@Param("tradeId") Long tradeId, @Param("email") String email);
+
+    // Locks the entry so two concurrent edits of the same archived trade rehydrate it only once.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            select e from TradeArchiveEntry e join fetch e.segment
+             where e.tradeId = :tradeId and e.userId in (select u.id from User u where u.email = :email)
+            """)
+    Optional<TradeArchiveEntry> lockWithSegment(@Param("tradeId") Long tradeId, @Param("email") String email);
+
+    long countBySegmentId(Long segmentId);
+}
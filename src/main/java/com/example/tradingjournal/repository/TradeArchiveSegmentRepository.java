@@ -0,0 +1,7 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.TradeArchiveSegment;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface TradeArchiveSegmentRepository extends JpaRepository<TradeArchiveSegment, Long> {
+}
@@ -2,11 +2,20 @@ package com.example.tradingjournal.repository;
 
 import com.example.tradingjournal.model.TradeAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface TradeAttachmentRepository extends JpaRepository<TradeAttachment, Long> {
     List<TradeAttachment> findAllByTradeIdOrderByCreatedAtDesc(Long tradeId);
+    List<TradeAttachment> findAllByTradeIdInAndTradeUserEmailOrderByCreatedAtDesc(Collection<Long> tradeIds, String email);
     Optional<TradeAttachment> findByIdAndTradeUserEmail(Long id, String email);
+    long countByTradeUserId(Long userId);
+
+    // Counts kept originals too, matching what the optimizer adds to the usage row.
+    @Query("select coalesce(sum(a.fileSize + coalesce(a.originalFileSize, 0)), 0) from TradeAttachment a where a.trade.user.id = :userId")
+    long sumFileSizeByUserId(@Param("userId") Long userId);
 }
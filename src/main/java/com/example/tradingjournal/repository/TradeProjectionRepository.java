@@ -0,0 +1,16 @@
+package com.example.tradingjournal.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Loads only the named {@code Trade} properties, so columns a client did not ask for are never read.
+ */
+public interface TradeProjectionRepository {
+
+    /**
+     * One row per trade in {@code [from, to)}, newest first. Each row holds the id and createdAt, then the
+     * requested properties in the order given.
+     */
+    List<Object[]> findFieldsByUserEmail(String email, List<String> properties, Instant from, Instant to);
+}
@@ -0,0 +1,36 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.Trade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.metamodel.EntityType;
+
+import java.time.Instant;
+import java.util.List;
+
+class TradeProjectionRepositoryImpl implements TradeProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findFieldsByUserEmail(String email, List<String> properties, Instant from, Instant to) {
+        EntityType<Trade> trade = entityManager.getMetamodel().entity(Trade.class);
+        StringBuilder jpql = new StringBuilder("select t.id, t.createdAt");
+        for (String property : properties) {
+            // Throws for anything that is not a mapped attribute, so only property names reach the query text.
+            trade.getSingularAttribute(property);
+            jpql.append(", t.").append(property);
+        }
+        jpql.append("""
+                 from Trade t
+                 where t.user.email = :email and t.createdAt >= :from and t.createdAt < :to
+                 order by t.createdAt desc, t.id desc
+                """);
+        return entityManager.createQuery(jpql.toString(), Object[].class)
+                .setParameter("email", email)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+}
@@ -1,15 +1,69 @@
 package com.example.tradingjournal.repository;
 
 import com.example.tradingjournal.model.Trade;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TradeRepository extends JpaRepository<Trade, Long> {
+public interface TradeRepository extends JpaRepository<Trade, Long>, TradeProjectionRepository {
     List<Trade> findAllByUserEmailOrderByCreatedAtDescIdDesc(String email);
+    // Bounded on created_at so a partitioned trades table only scans the months in range.
+    List<Trade> findAllByUserEmailAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(String email, Instant from, Instant to);
     Optional<Trade> findByIdAndUserEmail(Long id, String email);
+    List<Trade> findAllByIdInAndUserEmail(Collection<Long> ids, String email);
+    List<Trade> findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(Long userId, long fromVersion, long toVersion, Pageable pageable);
 
+    @Query("select distinct t.user.id from Trade t where t.closedAt < :closedBefore")
+    List<Long> findUserIdsWithTradesClosedBefore(@Param("closedBefore") Instant closedBefore);
+
+    // Trades with attachments stay in the table: attachment rows reference them by foreign key.
+    @Query("""
+            select t from Trade t
+             where t.user.id = :userId and t.closedAt < :closedBefore
+               and not exists (select a.id from TradeAttachment a where a.trade = t)
+             order by t.id
+            """)
+    List<Trade> findArchivable(@Param("userId") Long userId, @Param("closedBefore") Instant closedBefore, Pageable pageable);
+
+    @Modifying
+    @Query("delete from Trade t where t.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("select max(t.id) from Trade t")
+    Long findMaxId();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select t from Trade t where t.id >= :fromId and t.id < :toId")
+    List<Trade> findReadOnlyByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Only applies while the row still has the sync version it was read with; a user edit in between wins.
+    @Modifying
+    @Query("""
+            update Trade t
+               set t.slPips = :slPips, t.tpPips = :tpPips, t.rrRatio = :rrRatio, t.pipSizeUsed = :pipSizeUsed,
+                   t.syncVersion = :newVersion
+             where t.id = :id and t.syncVersion = :expectedVersion
+            """)
+    int updateMetrics(
+            @Param("id") Long id,
+            @Param("expectedVersion") long expectedVersion,
+            @Param("newVersion") long newVersion,
+            @Param("slPips") BigDecimal slPips,
+            @Param("tpPips") BigDecimal tpPips,
+            @Param("rrRatio") BigDecimal rrRatio,
+            @Param("pipSizeUsed") BigDecimal pipSizeUsed
+    );
 }
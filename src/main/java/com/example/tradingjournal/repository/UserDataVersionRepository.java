@@ -0,0 +1,20 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.UserDataVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+
+public interface UserDataVersionRepository extends JpaRepository<UserDataVersion, Long> {
+
+    @Query("select v.version from UserDataVersion v where v.userId = :userId")
+    Optional<Long> findVersionByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("update UserDataVersion v set v.version = v.version + :count, v.updatedAt = :now where v.userId = :userId")
+    int increment(@Param("userId") Long userId, @Param("count") long count, @Param("now") Instant now);
+}
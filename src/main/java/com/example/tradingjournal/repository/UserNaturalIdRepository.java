@@ -0,0 +1,13 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.User;
+
+import java.util.Optional;
+
+/**
+ * Email lookups resolved through Hibernate's natural-id API, so they are served from the second-level cache
+ * instead of issuing a query on every authenticated request.
+ */
+public interface UserNaturalIdRepository {
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,11 @@
+package com.example.tradingjournal.repository;
+
+/**
+ * Inserts a local account unless the email is taken, as one statement instead of check-then-insert.
+ */
+public interface UserRegistrationRepository {
+    /**
+     * Returns false if a user with this email already exists.
+     */
+    boolean insertIfAbsent(String email, String passwordHash);
+}
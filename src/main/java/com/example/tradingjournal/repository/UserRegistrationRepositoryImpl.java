@@ -0,0 +1,54 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+class UserRegistrationRepositoryImpl implements UserRegistrationRepository {
+
+    // Native rather than HQL: an HQL insert goes through bulk-operation cleanup and evicts the whole users and
+    // users-by-email cache regions on every registration, even when the insert does nothing.
+    private static final String INSERT_IF_ABSENT = """
+            insert into users (email, password_hash, role, provider)
+            values (:email, :passwordHash, 'USER', :provider)
+            on conflict (email) do nothing
+            """;
+
+    // H2 (local development only) has no ON CONFLICT outside PostgreSQL mode; a concurrent duplicate fails on the
+    // unique constraint instead.
+    private static final String INSERT_IF_ABSENT_H2 = """
+            insert into users (email, password_hash, role, provider)
+            select :email, :passwordHash, 'USER', :provider
+            where not exists (select 1 from users where email = :email)
+            """;
+
+    // A native statement without query spaces would invalidate every cache region. This space is deliberately not
+    // the users table: synchronizing on that evicts the users entity and natural-id regions as well. A new row
+    // cannot make a cached user stale, and as a LOCAL account without googleSub it cannot change the one cached
+    // users query (findByGoogleSub) either.
+    static final String REGISTRATION_QUERY_SPACE = "user_registrations";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public boolean insertIfAbsent(String email, String passwordHash) {
+        return entityManager.createNativeQuery(postgres() ? INSERT_IF_ABSENT : INSERT_IF_ABSENT_H2)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(REGISTRATION_QUERY_SPACE)
+                .setParameter("email", email)
+                .setParameter("passwordHash", passwordHash)
+                .setParameter("provider", User.Provider.LOCAL.name())
+                .executeUpdate() == 1;
+    }
+
+    private boolean postgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
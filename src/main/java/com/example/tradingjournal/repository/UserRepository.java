@@ -1,13 +1,16 @@
 package com.example.tradingjournal.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.example.tradingjournal.model.User;
+import org.springframework.data.jpa.repository.QueryHints;
 
 
 import java.util.Optional;
 
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository, UserRegistrationRepository {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByGoogleSub(String googleSub);
     boolean existsByEmail(String email);
 }
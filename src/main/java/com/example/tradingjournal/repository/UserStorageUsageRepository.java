@@ -0,0 +1,50 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.UserStorageUsage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface UserStorageUsageRepository extends JpaRepository<UserStorageUsage, Long> {
+
+    List<UserStorageUsage> findAllByOrderByBytesUsedDesc(Pageable pageable);
+
+    /**
+     * Adds one file of {@code bytes} to the user's counters only if the result stays within quota.
+     * Returns 0 when the quota would be exceeded, so check and increment happen in one statement.
+     */
+    @Modifying
+    @Query("""
+            update UserStorageUsage u
+               set u.bytesUsed = u.bytesUsed + :bytes,
+                   u.fileCount = u.fileCount + 1,
+                   u.updatedAt = :now
+             where u.userId = :userId
+               and (coalesce(u.quotaBytes, :defaultMaxBytes) <= 0
+                    or u.bytesUsed + :bytes <= coalesce(u.quotaBytes, :defaultMaxBytes))
+               and (:maxFiles <= 0 or u.fileCount + 1 <= :maxFiles)
+            """)
+    int reserve(@Param("userId") Long userId,
+                @Param("bytes") long bytes,
+                @Param("defaultMaxBytes") long defaultMaxBytes,
+                @Param("maxFiles") long maxFiles,
+                @Param("now") Instant now);
+
+    @Modifying
+    @Query("""
+            update UserStorageUsage u
+               set u.bytesUsed = u.bytesUsed + :bytesDelta,
+                   u.fileCount = u.fileCount + :filesDelta,
+                   u.updatedAt = :now
+             where u.userId = :userId
+            """)
+    int adjust(@Param("userId") Long userId,
+               @Param("bytesDelta") long bytesDelta,
+               @Param("filesDelta") long filesDelta,
+               @Param("now") Instant now);
+}
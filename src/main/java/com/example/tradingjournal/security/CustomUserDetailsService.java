@@ -4,6 +4,8 @@ import com.example.tradingjournal.repository.UserRepository;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -11,14 +13,19 @@ import java.util.List;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository users;
+    private final TransactionTemplate primaryRead;
 
-    public CustomUserDetailsService(UserRepository users) {
+    public CustomUserDetailsService(UserRepository users, PlatformTransactionManager transactionManager) {
         this.users = users;
+        this.primaryRead = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // The plain lookup may be served by a read replica; an account registered moments ago might not be there
+        // yet, so a miss is re-checked in a read-write transaction, which always runs on the primary.
         var u = users.findByEmail(email)
+                .or(() -> primaryRead.execute(status -> users.findByEmail(email)))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
         return new org.springframework.security.core.userdetails.User(
@@ -0,0 +1,48 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.OutboxEvent;
+import com.example.tradingjournal.storage.BlobStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes the stored file of a deleted attachment, and its kept original if any, once the deletion has committed. Deleting a missing blob is a
+ * no-op in every {@link BlobStore}, so redelivery is harmless.
+ */
+@Service
+public class AttachmentBlobCleanupHandler implements OutboxHandler {
+
+    public static final String BLOB_KEY = "blobKey";
+    public static final String ORIGINAL_BLOB_KEY = "originalBlobKey";
+
+    private final BlobStore blobStore;
+    private final ObjectMapper objectMapper;
+
+    public AttachmentBlobCleanupHandler(BlobStore blobStore, ObjectMapper objectMapper) {
+        this.blobStore = blobStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Set<String> eventTypes() {
+        return Set.of(OutboxEvent.ATTACHMENT_DELETED);
+    }
+
+    @Override
+    public void handle(List<OutboxEvent> events) throws IOException {
+        for (OutboxEvent event : events) {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            for (String field : List.of(BLOB_KEY, ORIGINAL_BLOB_KEY)) {
+                String key = payload.path(field).asText(null);
+                if (key != null) {
+                    blobStore.delete(key);
+                }
+            }
+        }
+    }
+}
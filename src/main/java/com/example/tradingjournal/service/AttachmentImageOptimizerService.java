@@ -0,0 +1,10 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.TradeAttachment;
+
+public interface AttachmentImageOptimizerService {
+    /**
+     * Queues the attachment for re-encoding once the surrounding transaction commits.
+     */
+    void scheduleAfterCommit(TradeAttachment attachment);
+}
@@ -0,0 +1,20 @@
+package com.example.tradingjournal.service;
+
+public interface DataVersionService {
+
+    /**
+     * Weak ETag for one of the current user's collections, e.g. {@code W/"trades-7-42"}.
+     */
+    String etag(String collection);
+
+    /**
+     * Bumps the user's version inside the caller's write transaction and returns the new value.
+     */
+    long bump(Long userId);
+
+    /**
+     * Reserves {@code count} consecutive versions in one update inside the caller's write transaction and returns
+     * the first; the caller assigns them in order, so every changed row gets its own version.
+     */
+    long reserve(Long userId, int count);
+}
@@ -3,6 +3,7 @@ package com.example.tradingjournal.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
@@ -16,11 +17,11 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class FinnhubQuoteService {
 
-    private static final String FINNHUB_BASE_URL = "https://finnhub.io/api/v1/forex/rates";
     // NOTE: Finnhub returns rates for a base currency; we use base=USD to derive cross rates.
     private static final String BASE_CURRENCY = "USD";
     private static final MathContext MATH_CONTEXT = MathContext.DECIMAL64;
@@ -28,20 +29,72 @@ public class FinnhubQuoteService {
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
-
-    public FinnhubQuoteService(ObjectMapper objectMapper) {
+    private final String ratesUrl;
+    private final long cacheTtlMs;
+    // Not synchronized: a virtual thread blocked on a monitor around the HTTP call would pin its carrier thread.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile UsdRates cached;
+
+    public FinnhubQuoteService(
+            ObjectMapper objectMapper,
+            @Value("${app.fx.finnhub-url:https://finnhub.io/api/v1/forex/rates}") String ratesUrl,
+            @Value("${app.fx.cache-ttl:PT1M}") Duration cacheTtl
+    ) {
         this.objectMapper = objectMapper;
+        this.ratesUrl = ratesUrl;
+        this.cacheTtlMs = cacheTtl.toMillis();
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(4))
                 .build();
     }
 
     public QuoteResult fetchQuote(String apiKey, String baseCurrency, String quoteCurrency) {
+        UsdRates rates = usdRates(apiKey);
+        BigDecimal price = computeRateFromUsdBase(rates.quote(), baseCurrency, quoteCurrency);
+        if (price == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Finnhub missing rate for pair");
+        }
+
+        return new QuoteResult(price, rates.fetchedAt());
+    }
+
+    /**
+     * The rate for {@code baseCurrency/quoteCurrency} from the cached rate table, or null if Finnhub has no rate for
+     * one of the currencies.
+     */
+    public BigDecimal cachedRate(String apiKey, String baseCurrency, String quoteCurrency) {
+        return computeRateFromUsdBase(usdRates(apiKey).quote(), baseCurrency, quoteCurrency);
+    }
+
+    /**
+     * USD based rate table, fetched at most once per {@code app.fx.cache-ttl}. All pairs are derived from it, so one
+     * fetch serves every quote and conversion until it expires.
+     */
+    private UsdRates usdRates(String apiKey) {
+        UsdRates current = cached;
+        if (current != null && System.currentTimeMillis() - current.fetchedAt() < cacheTtlMs) {
+            return current;
+        }
+        refreshLock.lock();
+        try {
+            current = cached;
+            if (current != null && System.currentTimeMillis() - current.fetchedAt() < cacheTtlMs) {
+                return current;
+            }
+            current = new UsdRates(fetchUsdRates(apiKey), System.currentTimeMillis());
+            cached = current;
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Map<String, BigDecimal> fetchUsdRates(String apiKey) {
         String token = apiKey == null ? "" : apiKey.trim();
         boolean hasToken = !token.isEmpty();
         logger.info("Finnhub token present? {} length={}", hasToken, token.length());
 
-        String url = FINNHUB_BASE_URL + "?base=" + BASE_CURRENCY + "&token=" + token;
+        String url = ratesUrl + "?base=" + BASE_CURRENCY + "&token=" + token;
         logger.info("Finnhub request URL: {}", redactToken(url));
 
         HttpRequest request = HttpRequest.newBuilder()
@@ -73,13 +126,7 @@ public class FinnhubQuoteService {
         if (rates == null || rates.quote() == null || rates.quote().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Finnhub response missing rates");
         }
-
-        BigDecimal price = computeRateFromUsdBase(rates.quote(), baseCurrency, quoteCurrency);
-        if (price == null) {
-            throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Finnhub missing rate for pair");
-        }
-
-        return new QuoteResult(price, System.currentTimeMillis());
+        return rates.quote();
     }
 
     private BigDecimal computeRateFromUsdBase(Map<String, BigDecimal> usdRates, String baseCurrency, String quoteCurrency) {
@@ -102,6 +149,8 @@ public class FinnhubQuoteService {
 
     public record QuoteResult(BigDecimal price, long timestamp) {}
 
+    private record UsdRates(Map<String, BigDecimal> quote, long fetchedAt) {}
+
     public record FinnhubRatesResponse(String base, Map<String, BigDecimal> quote) {}
 
     private String redactToken(String url) {
@@ -0,0 +1,146 @@
+package com.example.tradingjournal.service;
+
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable table of the instruments the journal supports, mirroring {@code constants/instruments.js} in the UI.
+ * <p>
+ * Built once at startup. Every instrument gets a small integer id in table order, and its pip size and contract size
+ * are held as ready-made constants, so callers on hot paths look them up without allocating. Symbols outside the
+ * table fall back to the FX rule: 0.01 for JPY quoted pairs, 0.0001 otherwise.
+ */
+@Component
+public class InstrumentRegistry {
+
+    public static final String TYPE_FX = "FX";
+    public static final String TYPE_METAL = "METAL";
+
+    private static final List<String> FX_PAIRS = List.of(
+            "GBPJPY", "EURAUD", "AUDCAD", "EURUSD", "GBPCAD", "USDJPY", "NZDCAD", "NZDJPY", "EURJPY", "EURGBP",
+            "USDCHF", "CADJPY", "AUDUSD", "GBPUSD", "EURCHF", "EURCAD", "NZDUSD", "AUDCHF", "GBPNZD", "AUDJPY",
+            "EURNZD"
+    );
+    private static final BigDecimal JPY_PIP = new BigDecimal("0.01");
+    private static final BigDecimal STANDARD_PIP = new BigDecimal("0.0001");
+    private static final BigDecimal JPY_PIP_USED = JPY_PIP.setScale(4, RoundingMode.HALF_UP);
+    private static final BigDecimal STANDARD_PIP_USED = STANDARD_PIP.setScale(4, RoundingMode.HALF_UP);
+    private static final long FX_UNITS_PER_LOT = 100_000;
+
+    public record Instrument(
+            int id,
+            String symbol,
+            String label,
+            String type,
+            String base,
+            String quote,
+            BigDecimal pipSize,
+            BigDecimal pipSizeUsed,
+            double pipSizeValue,
+            long unitsPerLot,
+            BigDecimal unitsPerLotDecimal,
+            String displayUnit
+    ) {
+    }
+
+    private final List<Instrument> instruments;
+    private final Map<String, Instrument> bySymbol;
+
+    public InstrumentRegistry() {
+        List<Instrument> table = new ArrayList<>();
+        for (String pair : FX_PAIRS) {
+            boolean jpy = pair.endsWith("JPY");
+            table.add(instrument(table.size(), pair, TYPE_FX, jpy ? JPY_PIP : STANDARD_PIP, FX_UNITS_PER_LOT, "pips"));
+        }
+        table.add(instrument(table.size(), "XAUUSD", TYPE_METAL, JPY_PIP, 100, "ticks"));
+
+        Map<String, Instrument> index = new HashMap<>();
+        for (Instrument instrument : table) {
+            index.put(instrument.symbol(), instrument);
+        }
+        this.instruments = List.copyOf(table);
+        this.bySymbol = Map.copyOf(index);
+    }
+
+    /**
+     * All instruments in id order.
+     */
+    public List<Instrument> all() {
+        return instruments;
+    }
+
+    /**
+     * The instrument for a symbol, matched case-insensitively and ignoring surrounding whitespace; null if unknown.
+     */
+    public Instrument find(String symbol) {
+        if (symbol == null) {
+            return null;
+        }
+        // Stored and client-sent symbols are already normalized, so the exact lookup almost always hits.
+        Instrument instrument = bySymbol.get(symbol);
+        if (instrument != null) {
+            return instrument;
+        }
+        return bySymbol.get(symbol.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public Instrument byId(int id) {
+        return instruments.get(id);
+    }
+
+    /**
+     * Price distance of one pip (or tick) for the symbol.
+     */
+    public BigDecimal pipSize(String symbol) {
+        Instrument instrument = find(symbol);
+        if (instrument != null) {
+            return instrument.pipSize();
+        }
+        return isJpyQuoted(symbol) ? JPY_PIP : STANDARD_PIP;
+    }
+
+    /**
+     * {@link #pipSize} at the scale stored in {@code trades.pip_size_used}.
+     */
+    public BigDecimal pipSizeUsed(String symbol) {
+        Instrument instrument = find(symbol);
+        if (instrument != null) {
+            return instrument.pipSizeUsed();
+        }
+        return isJpyQuoted(symbol) ? JPY_PIP_USED : STANDARD_PIP_USED;
+    }
+
+    private static boolean isJpyQuoted(String symbol) {
+        if (symbol == null) {
+            return false;
+        }
+        String trimmed = symbol.trim();
+        return trimmed.regionMatches(true, trimmed.length() - 3, "JPY", 0, 3);
+    }
+
+    private static Instrument instrument(int id, String symbol, String type, BigDecimal pipSize, long unitsPerLot, String displayUnit) {
+        String base = symbol.substring(0, 3);
+        String quote = symbol.substring(3, 6);
+        return new Instrument(
+                id,
+                symbol,
+                base + "/" + quote,
+                type,
+                base,
+                quote,
+                pipSize,
+                pipSize.setScale(4, RoundingMode.HALF_UP),
+                pipSize.doubleValue(),
+                unitsPerLot,
+                BigDecimal.valueOf(unitsPerLot),
+                displayUnit
+        );
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.MetricRecomputeJob;
+
+import java.util.Optional;
+
+public interface MetricRecomputeService {
+
+    /**
+     * Starts recomputing slPips, tpPips, rrRatio and pipSizeUsed for every trade in the table, in the background.
+     * Archived trades keep the metrics they were archived with.
+     *
+     * @throws org.springframework.web.server.ResponseStatusException 409 if a job is already running
+     */
+    MetricRecomputeJob start();
+
+    Optional<MetricRecomputeJob> find(Long id);
+
+    Optional<MetricRecomputeJob> latest();
+
+    /**
+     * Stops handing out chunks; chunks in flight still commit. The job can be resumed later.
+     */
+    MetricRecomputeJob cancel(Long id);
+
+    /**
+     * Continues a cancelled job, or a running one whose workers stopped on errors, from its last checkpoint.
+     */
+    MetricRecomputeJob resume(Long id);
+
+    /**
+     * Whether this node currently has workers on the job.
+     */
+    boolean isActive(Long id);
+}
@@ -0,0 +1,174 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.OutboxEvent;
+import com.example.tradingjournal.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Polls the outbox and hands due events to the {@link OutboxHandler}s registered for their type.
+ * <p>
+ * A batch is claimed in a short transaction that pushes {@code available_at} out by the lease, so events of a node
+ * that dies mid-batch are picked up again once the lease runs out. Handlers of one batch run in parallel on a
+ * small pool; delivered events are deleted, failed ones are retried with exponential backoff and parked after
+ * {@code app.outbox.max-attempts}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxDispatcher.class);
+    private static final Duration MAX_BACKOFF = Duration.ofHours(1);
+
+    private final OutboxEventRepository events;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<String, List<OutboxHandler>> handlersByType = new HashMap<>();
+    private final int batchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+    private final ExecutorService executor;
+    private final Counter delivered;
+    private final Counter retried;
+    private final Counter failed;
+
+    public OutboxDispatcher(
+            OutboxEventRepository events,
+            List<OutboxHandler> handlers,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.lease:PT1M}") Duration lease,
+            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+            @Value("${app.outbox.handler-threads:4}") int handlerThreads
+    ) {
+        this.events = events;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        for (OutboxHandler handler : handlers) {
+            for (String type : handler.eventTypes()) {
+                handlersByType.computeIfAbsent(type, key -> new ArrayList<>()).add(handler);
+            }
+        }
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.maxAttempts = maxAttempts;
+        this.executor = Executors.newFixedThreadPool(handlerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.delivered = Counter.builder("outbox.delivered").description("Outbox events delivered").register(meterRegistry);
+        this.retried = Counter.builder("outbox.retried").description("Outbox events scheduled for another attempt").register(meterRegistry);
+        this.failed = Counter.builder("outbox.failed").description("Outbox events parked after the last attempt").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-delay-ms:500}")
+    public void poll() {
+        // Keep draining while batches come back full, instead of waiting a poll interval per batch.
+        while (dispatchBatch() == batchSize) {
+            logger.debug("Outbox batch full, polling again");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    int dispatchBatch() {
+        Instant now = Instant.now();
+        List<OutboxEvent> batch = transactionTemplate.execute(status -> {
+            List<OutboxEvent> due = events.findDue(now, PageRequest.of(0, batchSize));
+            for (OutboxEvent event : due) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setAvailableAt(now.plus(lease));
+            }
+            return due;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxHandler, List<OutboxEvent>> byHandler = new LinkedHashMap<>();
+        for (OutboxEvent event : batch) {
+            for (OutboxHandler handler : handlersByType.getOrDefault(event.getEventType(), List.of())) {
+                byHandler.computeIfAbsent(handler, key -> new ArrayList<>()).add(event);
+            }
+        }
+
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        List<Future<?>> running = new ArrayList<>();
+        byHandler.forEach((handler, handlerEvents) -> running.add(executor.submit(() -> {
+            try {
+                handler.handle(handlerEvents);
+            } catch (Exception ex) {
+                logger.warn("Outbox handler {} failed for {} event(s): {}",
+                        handler.getClass().getSimpleName(), handlerEvents.size(), ex.toString());
+                String message = String.valueOf(ex.getMessage());
+                for (OutboxEvent event : handlerEvents) {
+                    errors.put(event.getId(), message.length() > 1000 ? message.substring(0, 1000) : message);
+                }
+            }
+        })));
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException ex) {
+                // Leave the whole batch to the lease; it is redelivered after it expires.
+                Thread.currentThread().interrupt();
+                return 0;
+            } catch (ExecutionException ex) {
+                logger.warn("Outbox handler crashed: {}", ex.getCause().toString());
+            }
+        }
+
+        List<Long> done = batch.stream().map(OutboxEvent::getId).filter(id -> !errors.containsKey(id)).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!done.isEmpty()) {
+                events.deleteAllByIdIn(done);
+            }
+            if (!errors.isEmpty()) {
+                reschedule(errors, Instant.now());
+            }
+        });
+        delivered.increment(done.size());
+        return batch.size();
+    }
+
+    private void reschedule(Map<Long, String> errors, Instant now) {
+        for (OutboxEvent event : events.findAllById(errors.keySet())) {
+            event.setLastError(errors.get(event.getId()));
+            if (event.getAttempts() >= maxAttempts) {
+                event.setFailedAt(now);
+                failed.increment();
+                logger.error("Outbox event {} ({}) parked after {} attempts", event.getId(), event.getEventType(), event.getAttempts());
+                continue;
+            }
+            Duration backoff = Duration.ofSeconds(1L << Math.min(event.getAttempts(), 12));
+            event.setAvailableAt(now.plus(backoff.compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff));
+            retried.increment();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Consumer of outbox events. Delivery is at least once: a batch that throws, or whose node dies mid-way, is
+ * delivered again later, possibly together with events that already succeeded. Handlers must be idempotent.
+ */
+public interface OutboxHandler {
+
+    Set<String> eventTypes();
+
+    /**
+     * Handles a batch of events of the types above, oldest first.
+     */
+    void handle(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,21 @@
+package com.example.tradingjournal.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface OutboxService {
+
+    record Event(String eventType, Long userId, Long aggregateId, Map<String, ?> payload) {
+    }
+
+    /**
+     * Records an event in the caller's transaction; it is delivered to {@link OutboxHandler}s only if that
+     * transaction commits. Must be called inside a transaction.
+     */
+    void publish(String eventType, Long userId, Long aggregateId, Map<String, ?> payload);
+
+    /**
+     * Same as {@link #publish} for several events, in order, written as one JDBC batch.
+     */
+    void publishAll(List<Event> events);
+}
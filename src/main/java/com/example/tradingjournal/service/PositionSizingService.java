@@ -0,0 +1,51 @@
+package com.example.tradingjournal.service;
+
+import java.util.List;
+
+public interface PositionSizingService {
+
+    /**
+     * A pending setup to size. Null numbers are treated as missing input, like empty fields in the UI calculator.
+     * {@code riskPercent} overrides the account's risk for what-if scenarios; {@code contractSize} only applies to
+     * XAUUSD; {@code conversionRate} (quote currency per one account currency) overrides the cached FX rate.
+     */
+    record Setup(
+            String symbol,
+            Double entryPrice,
+            Double stopLossPrice,
+            Double riskPercent,
+            Double contractSize,
+            Double conversionRate
+    ) {
+    }
+
+    /**
+     * Result for one setup, field for field what {@code calculateRiskPosition} in the UI returns. Values that could
+     * not be computed are {@code NaN}.
+     */
+    record Sizing(
+            String symbol,
+            boolean valid,
+            boolean baseValid,
+            boolean conversionRateValid,
+            boolean needsConversion,
+            String baseCurrency,
+            String quoteCurrency,
+            double conversionRate,
+            double pipSize,
+            double slDistance,
+            String direction,
+            double slPips,
+            double riskAmount,
+            double units,
+            double lots,
+            double target2R,
+            double target3R
+    ) {
+    }
+
+    /**
+     * Sizes the setups against the current user's account settings, in request order.
+     */
+    List<Sizing> size(List<Setup> setups);
+}
@@ -0,0 +1,18 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.UserStorageUsage;
+
+import java.util.List;
+
+public interface StorageUsageService {
+    StorageUsage usageFor(Long userId);
+    void checkQuota(Long userId, long bytes);
+    void reserve(Long userId, long bytes);
+    void release(Long userId, long bytes);
+    void adjustBytes(Long userId, long bytesDelta);
+    List<UserStorageUsage> heaviestUsers(int limit);
+    UserStorageUsage updateQuota(Long userId, Long quotaBytes);
+
+    record StorageUsage(long bytesUsed, long fileCount, Long quotaBytes) {
+    }
+}
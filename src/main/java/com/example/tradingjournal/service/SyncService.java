@@ -0,0 +1,38 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.Cashflow;
+import com.example.tradingjournal.model.Trade;
+
+import java.util.List;
+
+public interface SyncService {
+
+    /**
+     * One changed or deleted row. Exactly one of {@code trade} / {@code cashflow} is set unless {@code deleted}.
+     */
+    record Change(long version, String type, boolean deleted, Long id, Trade trade, Cashflow cashflow) {
+    }
+
+    record Changes(long cursor, boolean hasMore, List<Change> changes) {
+    }
+
+    /**
+     * Current user's latest version; a client that reads it before a full load can sync from it afterwards.
+     */
+    long currentCursor();
+
+    /**
+     * Changes of the current user with a version above {@code since}, oldest first.
+     */
+    Changes changesSince(long since, int limit);
+
+    /**
+     * Writes a tombstone for a row deleted in the caller's transaction.
+     */
+    void recordDeletion(Long userId, String entityType, Long entityId);
+
+    /**
+     * Same as {@link #recordDeletion(Long, String, Long)} with a version the caller already reserved.
+     */
+    void recordDeletion(Long userId, String entityType, Long entityId, long version);
+}
@@ -0,0 +1,31 @@
+package com.example.tradingjournal.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Runs trade archival on a schedule. Archived trades stay readable when this is switched off again.
+ */
+@Service
+@ConditionalOnProperty(name = "app.trades.archive.enabled", havingValue = "true")
+public class TradeArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeArchiveJob.class);
+
+    private final TradeArchiveService archive;
+
+    public TradeArchiveJob(TradeArchiveService archive) {
+        this.archive = archive;
+    }
+
+    @Scheduled(cron = "${app.trades.archive.cron:0 45 3 * * *}")
+    public void run() {
+        int archived = archive.archiveAll();
+        if (archived > 0) {
+            logger.info("Archived {} trade(s)", archived);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.Trade;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface TradeArchiveService {
+
+    /**
+     * Archived trades of the user with {@code from <= createdAt < to}, in no particular order.
+     * The returned trades are detached, shared and have no user; treat them as read-only.
+     */
+    List<Trade> archivedTrades(String email, Instant from, Instant to);
+
+    /**
+     * A single archived trade of the user, read-only like {@link #archivedTrades}.
+     */
+    Optional<Trade> findArchived(String email, Long tradeId);
+
+    /**
+     * Moves an archived trade back into the trades table within the caller's transaction and returns it managed.
+     * Empty if the trade is not archived, e.g. because a concurrent request rehydrated it first.
+     */
+    Optional<Trade> rehydrate(String email, Long tradeId);
+
+    /**
+     * Archives every user's closed trades older than the configured minimum age. Returns the number archived.
+     */
+    int archiveAll();
+
+    /**
+     * Archives the user's trades closed before {@code closedBefore}, one segment per batch.
+     */
+    int archiveUser(Long userId, Instant closedBefore);
+}
@@ -5,10 +5,13 @@ import com.example.tradingjournal.model.TradeAttachmentSection;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 public interface TradeAttachmentService {
     TradeAttachment create(Long tradeId, TradeAttachmentSection section, MultipartFile file);
     List<TradeAttachment> listForTrade(Long tradeId);
+    Map<Long, List<TradeAttachment>> listForTrades(List<Long> tradeIds);
+    String imageUrl(TradeAttachment attachment);
     TradeAttachment updateTimeframe(Long attachmentId, String timeframe);
     void delete(Long attachmentId);
     void deleteByTradeId(Long tradeId);
@@ -0,0 +1,97 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.Trade;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Whitelist for sparse trade fieldsets ({@code GET /api/trades?fields=...}).
+ * <p>
+ * Every name is both a {@code TradeResponse} field and a {@link Trade} property, so a parsed list can go straight
+ * into a JPQL select. Anything not listed here is rejected before a query is built.
+ */
+public final class TradeFields {
+
+    public static final String ID = "id";
+    public static final String CREATED_AT = "createdAt";
+
+    private static final Map<String, Function<Trade, Object>> FIELDS = fields();
+
+    private TradeFields() {
+    }
+
+    /**
+     * The requested fields in response order, {@code id} always included. Rejects unknown names with 400.
+     */
+    public static List<String> parse(String csv) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String part : csv.split(",")) {
+            String name = part.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Fields must name at least one field");
+        }
+        List<String> ordered = new ArrayList<>(requested.size() + 1);
+        for (String name : FIELDS.keySet()) {
+            if (name.equals(ID) || requested.contains(name)) {
+                ordered.add(name);
+            }
+        }
+        return List.copyOf(ordered);
+    }
+
+    /**
+     * Reads one whitelisted field from an already loaded trade, for rows that do not come from the database.
+     */
+    public static Object read(Trade trade, String field) {
+        Function<Trade, Object> accessor = FIELDS.get(field);
+        if (accessor == null) {
+            throw new IllegalArgumentException("Unknown trade field: " + field);
+        }
+        return accessor.apply(trade);
+    }
+
+    private static Map<String, Function<Trade, Object>> fields() {
+        Map<String, Function<Trade, Object>> fields = new LinkedHashMap<>();
+        fields.put(ID, Trade::getId);
+        fields.put("symbol", Trade::getSymbol);
+        fields.put("direction", Trade::getDirection);
+        fields.put("entryPrice", Trade::getEntryPrice);
+        fields.put("exitPrice", Trade::getExitPrice);
+        fields.put("closeReasonOverride", Trade::getCloseReasonOverride);
+        fields.put("manualReason", Trade::getManualReason);
+        fields.put("manualDescription", Trade::getManualDescription);
+        fields.put("followedPlan", Trade::getFollowedPlan);
+        fields.put("mistakesText", Trade::getMistakesText);
+        fields.put("improvementText", Trade::getImprovementText);
+        fields.put("confidence", Trade::getConfidence);
+        fields.put("reviewUpdatedAt", Trade::getReviewUpdatedAt);
+        fields.put("stopLossPrice", Trade::getStopLossPrice);
+        fields.put("takeProfitPrice", Trade::getTakeProfitPrice);
+        fields.put("commissionMoney", Trade::getCommissionMoney);
+        fields.put("swapMoney", Trade::getSwapMoney);
+        fields.put("netPnlMoney", Trade::getNetPnlMoney);
+        fields.put("slPips", Trade::getSlPips);
+        fields.put("tpPips", Trade::getTpPips);
+        fields.put("rrRatio", Trade::getRrRatio);
+        fields.put(CREATED_AT, Trade::getCreatedAt);
+        fields.put("closedAt", Trade::getClosedAt);
+        fields.put("updatedAt", Trade::getUpdatedAt);
+        return fields;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.tradingjournal.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps monthly trade partitions created ahead of time, so new trades never land in the default partition.
+ * Only active with the "partitioned" profile, which installs {@code ensure_trade_partitions}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.trades.partitioning.enabled", havingValue = "true")
+public class TradePartitionMaintainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradePartitionMaintainer.class);
+
+    private final JdbcTemplate jdbc;
+    private final int monthsAhead;
+
+    public TradePartitionMaintainer(JdbcTemplate jdbc, @Value("${app.trades.partitioning.months-ahead:3}") int monthsAhead) {
+        this.jdbc = jdbc;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        ensurePartitions();
+    }
+
+    @Scheduled(cron = "${app.trades.partitioning.cron:0 15 3 * * *}")
+    public void ensurePartitions() {
+        try {
+            Integer created = jdbc.queryForObject("select ensure_trade_partitions(?)", Integer.class, monthsAhead);
+            if (created != null && created > 0) {
+                logger.info("Created {} trade partition(s)", created);
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to ensure trade partitions: {}", ex.getMessage());
+        }
+    }
+}
@@ -7,13 +7,66 @@ import java.util.List;
 
 public interface TradeService {
 
+    String BATCH_CREATE = "CREATE";
+    String BATCH_UPDATE = "UPDATE";
+    String BATCH_REVIEW = "REVIEW";
+    String BATCH_DELETE = "DELETE";
+
+    /**
+     * One operation of {@link #batch}. {@code op} picks which fields are read: CREATE and UPDATE take the trade
+     * fields, REVIEW the review fields, DELETE only {@code id}.
+     */
+    record BatchOperation(
+            String op,
+            Long id,
+            String symbol,
+            String direction,
+            BigDecimal entryPrice,
+            BigDecimal exitPrice,
+            String closeReasonOverride,
+            String manualReason,
+            String manualDescription,
+            BigDecimal stopLossPrice,
+            BigDecimal takeProfitPrice,
+            BigDecimal commissionMoney,
+            BigDecimal swapMoney,
+            BigDecimal netPnlMoney,
+            java.time.Instant closedAt,
+            java.time.Instant createdAt,
+            String followedPlan,
+            String mistakesText,
+            String improvementText,
+            Integer confidence
+    ) {
+    }
+
+    /**
+     * Outcome of one operation: the HTTP status it would have had on its own endpoint, and the written trade
+     * (null for deletes, failures and batches that were not applied).
+     */
+    record BatchItemResult(int index, String op, int status, Long id, String error, Trade trade) {
+    }
+
+    record BatchResult(boolean applied, List<BatchItemResult> items) {
+    }
+
     Trade create(String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, String closeReasonOverride, String manualReason, String manualDescription, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, java.time.Instant closedAt);
     List<Trade> myTrades();
+    List<Trade> myTrades(java.time.Instant from, java.time.Instant to);
+    /**
+     * Like {@link #myTrades(java.time.Instant, java.time.Instant)}, but each row holds only the given
+     * {@link TradeFields}, and only those columns are selected.
+     */
+    List<java.util.Map<String, Object>> myTradeFields(List<String> fields, java.time.Instant from, java.time.Instant to);
 
     Trade findById(Long id);
     Trade update(Long id, String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, String closeReasonOverride, String manualReason, String manualDescription, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, java.time.Instant closedAt, java.time.Instant createdAt);
     Trade updateReview(Long id, String followedPlan, String mistakesText, String improvementText, Integer confidence);
     void delete(Long id);
+    /**
+     * Applies all operations in one transaction, or none of them if any one fails validation.
+     */
+    BatchResult batch(List<BatchOperation> operations);
 
 
     List<Trade> findAll();
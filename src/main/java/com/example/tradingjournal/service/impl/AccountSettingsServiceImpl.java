@@ -5,9 +5,11 @@ import com.example.tradingjournal.model.User;
 import com.example.tradingjournal.repository.AccountSettingsRepository;
 import com.example.tradingjournal.repository.UserRepository;
 import com.example.tradingjournal.service.AccountSettingsService;
+import com.example.tradingjournal.service.DataVersionService;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -19,33 +21,29 @@ public class AccountSettingsServiceImpl implements AccountSettingsService {
 
     private final AccountSettingsRepository settings;
     private final UserRepository users;
+    private final DataVersionService dataVersions;
 
-    public AccountSettingsServiceImpl(AccountSettingsRepository settings, UserRepository users) {
+    public AccountSettingsServiceImpl(AccountSettingsRepository settings, UserRepository users, DataVersionService dataVersions) {
         this.settings = settings;
         this.users = users;
+        this.dataVersions = dataVersions;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<AccountSettings> getCurrentUserSettings() {
         User user = currentUser();
         return settings.findByUserId(user.getId());
     }
 
     @Override
+    @Transactional
     public AccountSettings upsert(BigDecimal startingBalance, BigDecimal riskPercent, String currency) {
         validateInputs(startingBalance, riskPercent);
         User user = currentUser();
-        AccountSettings accountSettings = settings.findByUserId(user.getId()).orElseGet(AccountSettings::new);
-        Instant now = Instant.now();
-        if (accountSettings.getId() == null) {
-            accountSettings.setUser(user);
-            accountSettings.setCreatedAt(now);
-        }
-        accountSettings.setStartingBalance(startingBalance);
-        accountSettings.setRiskPercent(riskPercent);
-        accountSettings.setCurrency(normalizeCurrency(currency));
-        accountSettings.setUpdatedAt(now);
-        return settings.save(accountSettings);
+        AccountSettings saved = settings.upsert(user.getId(), startingBalance, riskPercent, normalizeCurrency(currency), Instant.now());
+        dataVersions.bump(user.getId());
+        return saved;
     }
 
     private void validateInputs(BigDecimal startingBalance, BigDecimal riskPercent) {
@@ -0,0 +1,297 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.TradeAttachment;
+import com.example.tradingjournal.repository.TradeAttachmentRepository;
+import com.example.tradingjournal.service.AttachmentImageOptimizerService;
+import com.example.tradingjournal.service.StorageUsageService;
+import com.example.tradingjournal.storage.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-encodes large PNG uploads to JPEG after the upload transaction commits.
+ * <p>
+ * Screenshots pasted as lossless full-screen PNGs are typically 5-10x larger than a high quality JPEG of the same
+ * image. The work runs on a small dedicated pool so it never holds a request thread; if the pool is saturated the
+ * attachment is simply left as uploaded.
+ */
+@Service
+public class AttachmentImageOptimizerServiceImpl implements AttachmentImageOptimizerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AttachmentImageOptimizerServiceImpl.class);
+    private static final String PNG = "image/png";
+    private static final String JPEG = "image/jpeg";
+
+    private final TradeAttachmentRepository attachments;
+    private final StorageUsageService storageUsage;
+    private final TransactionTemplate transactionTemplate;
+    private final BlobStore blobStore;
+    private final boolean enabled;
+    private final long minBytes;
+    private final int maxDimension;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final boolean keepOriginal;
+    private final Counter optimizedCount;
+    private final Counter savedBytes;
+    private final ThreadPoolExecutor executor;
+
+    public AttachmentImageOptimizerServiceImpl(
+            TradeAttachmentRepository attachments,
+            StorageUsageService storageUsage,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            BlobStore blobStore,
+            @Value("${app.upload.optimize.enabled:false}") boolean enabled,
+            @Value("${app.upload.optimize.min-bytes:1048576}") long minBytes,
+            @Value("${app.upload.optimize.max-dimension:2560}") int maxDimension,
+            @Value("${app.upload.optimize.max-pixels:50000000}") long maxPixels,
+            @Value("${app.upload.optimize.jpeg-quality:0.85}") float jpegQuality,
+            @Value("${app.upload.optimize.keep-original:false}") boolean keepOriginal
+    ) {
+        this.attachments = attachments;
+        this.storageUsage = storageUsage;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.blobStore = blobStore;
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        this.maxDimension = maxDimension;
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        this.keepOriginal = keepOriginal;
+        this.optimizedCount = Counter.builder("attachments.optimized")
+                .description("Attachments re-encoded after upload")
+                .register(meterRegistry);
+        this.savedBytes = Counter.builder("attachments.optimized.saved")
+                .baseUnit("bytes")
+                .description("Bytes saved by re-encoding attachments")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(1, 2, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(100), runnable -> {
+            Thread thread = new Thread(runnable, "attachment-optimizer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void scheduleAfterCommit(TradeAttachment attachment) {
+        if (!enabled || !isCandidate(attachment.getContentType(), attachment.getFileSize())) {
+            return;
+        }
+        Long attachmentId = attachment.getId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(attachmentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(attachmentId);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void submit(Long attachmentId) {
+        try {
+            executor.execute(() -> optimize(attachmentId));
+        } catch (RejectedExecutionException ex) {
+            logger.debug("Optimizer queue full, leaving attachment {} as uploaded", attachmentId);
+        }
+    }
+
+    private void optimize(Long attachmentId) {
+        TradeAttachment snapshot = attachments.findById(attachmentId).orElse(null);
+        if (snapshot == null || !isCandidate(snapshot.getContentType(), snapshot.getFileSize())) {
+            return;
+        }
+        String originalPath = snapshot.getRelativePath();
+
+        byte[] encoded;
+        try (InputStream in = blobStore.open(originalPath)) {
+            BufferedImage image = decodeBounded(in, attachmentId);
+            if (image == null) {
+                return;
+            }
+            encoded = encodeJpeg(flattenAndScale(image));
+        } catch (IOException ex) {
+            logger.warn("Failed to re-encode attachment {}: {}", attachmentId, ex.getMessage());
+            return;
+        }
+        long originalSize = snapshot.getFileSize();
+        if (encoded.length >= originalSize) {
+            return;
+        }
+
+        String optimizedPath = replaceExtension(originalPath, "jpg");
+        try {
+            blobStore.put(optimizedPath, new ByteArrayInputStream(encoded), encoded.length, JPEG);
+        } catch (IOException ex) {
+            logger.warn("Failed to write re-encoded attachment {}: {}", attachmentId, ex.getMessage());
+            return;
+        }
+
+        Boolean applied = transactionTemplate.execute(status -> {
+            // The user may have deleted or replaced the attachment while we were encoding.
+            TradeAttachment current = attachments.findById(attachmentId).orElse(null);
+            if (current == null || !originalPath.equals(current.getRelativePath())) {
+                return false;
+            }
+            current.setRelativePath(optimizedPath);
+            current.setContentType(JPEG);
+            current.setFileSize(encoded.length);
+            if (keepOriginal) {
+                // Tracked on the row so deleting the attachment removes it too and it counts towards the quota.
+                current.setOriginalRelativePath(originalPath);
+                current.setOriginalFileSize(originalSize);
+            }
+            attachments.save(current);
+            storageUsage.adjustBytes(current.getTrade().getUser().getId(),
+                    keepOriginal ? encoded.length : encoded.length - originalSize);
+            return true;
+        });
+
+        if (!Boolean.TRUE.equals(applied)) {
+            deleteQuietly(optimizedPath);
+            return;
+        }
+        optimizedCount.increment();
+        if (!keepOriginal) {
+            deleteQuietly(originalPath);
+            savedBytes.increment(originalSize - encoded.length);
+        }
+    }
+
+    private boolean isCandidate(String contentType, long fileSize) {
+        return contentType != null
+                && PNG.equals(contentType.toLowerCase(Locale.ROOT))
+                && fileSize >= minBytes;
+    }
+
+    /**
+     * Decodes the image without trusting its size: a small, highly compressed PNG can declare dimensions that need
+     * gigabytes once decoded. The header is checked against {@code maxPixels} first, and the decode is subsampled so
+     * the raster held in memory is not much larger than the {@code maxDimension} output.
+     */
+    private BufferedImage decodeBounded(InputStream in, Long attachmentId) throws IOException {
+        try (ImageInputStream imageIn = ImageIO.createImageInputStream(in)) {
+            if (imageIn == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageIn);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageIn, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    logger.info("Leaving attachment {} as uploaded: {}x{} exceeds {} pixels", attachmentId, width, height, maxPixels);
+                    return null;
+                }
+                int step = Math.max(1, Math.max(width, height) / maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage flattenAndScale(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxDimension / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+
+        // JPEG has no alpha channel, so transparent pixels are flattened onto white.
+        BufferedImage output = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = output.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, targetWidth, targetHeight);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return output;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            // No metadata is passed through, which also strips anything embedded in the original file.
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private String replaceExtension(String path, String extension) {
+        int slash = path.lastIndexOf('/');
+        int dot = path.lastIndexOf('.');
+        String base = dot > slash ? path.substring(0, dot) : path;
+        return base + "." + extension;
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            blobStore.delete(key);
+        } catch (IOException ex) {
+            logger.warn("Failed to delete {}: {}", key, ex.getMessage());
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.example.tradingjournal.service.impl;
 
 import com.example.tradingjournal.model.Cashflow;
+import com.example.tradingjournal.model.OutboxEvent;
+import com.example.tradingjournal.model.SyncTombstone;
 import com.example.tradingjournal.model.User;
 import com.example.tradingjournal.repository.CashflowRepository;
 import com.example.tradingjournal.repository.UserRepository;
 import com.example.tradingjournal.service.CashflowService;
+import com.example.tradingjournal.service.DataVersionService;
+import com.example.tradingjournal.service.OutboxService;
+import com.example.tradingjournal.service.SyncService;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -19,13 +25,20 @@ public class CashflowServiceImpl implements CashflowService {
 
     private final CashflowRepository cashflows;
     private final UserRepository users;
+    private final DataVersionService dataVersions;
+    private final SyncService sync;
+    private final OutboxService outbox;
 
-    public CashflowServiceImpl(CashflowRepository cashflows, UserRepository users) {
+    public CashflowServiceImpl(CashflowRepository cashflows, UserRepository users, DataVersionService dataVersions, SyncService sync, OutboxService outbox) {
         this.cashflows = cashflows;
         this.users = users;
+        this.dataVersions = dataVersions;
+        this.sync = sync;
+        this.outbox = outbox;
     }
 
     @Override
+    @Transactional
     public Cashflow create(String type, BigDecimal amountMoney, Instant occurredAt, String note) {
         validateType(type);
         validateAmount(amountMoney);
@@ -37,10 +50,15 @@ public class CashflowServiceImpl implements CashflowService {
         cashflow.setOccurredAt(occurredAtToUse);
         cashflow.setNote(normalizeNote(note));
         cashflow.setCreatedAt(Instant.now());
-        return cashflows.save(cashflow);
+        cashflow.setUpdatedAt(cashflow.getCreatedAt());
+        cashflow.setSyncVersion(dataVersions.bump(cashflow.getUser().getId()));
+        Cashflow saved = cashflows.save(cashflow);
+        outbox.publish(OutboxEvent.CASHFLOW_CREATED, saved.getUser().getId(), saved.getId(), null);
+        return saved;
     }
 
     @Override
+    @Transactional
     public Cashflow update(Long id, String type, BigDecimal amountMoney, Instant occurredAt, String note) {
         if (occurredAt == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Occurred time is required");
@@ -52,21 +70,30 @@ public class CashflowServiceImpl implements CashflowService {
         cashflow.setAmountMoney(amountMoney);
         cashflow.setOccurredAt(occurredAt);
         cashflow.setNote(normalizeNote(note));
-        return cashflows.save(cashflow);
+        cashflow.setUpdatedAt(Instant.now());
+        cashflow.setSyncVersion(dataVersions.bump(cashflow.getUser().getId()));
+        Cashflow saved = cashflows.save(cashflow);
+        outbox.publish(OutboxEvent.CASHFLOW_UPDATED, saved.getUser().getId(), saved.getId(), null);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
         Cashflow cashflow = findOwnedCashflow(id);
         cashflows.delete(cashflow);
+        sync.recordDeletion(cashflow.getUser().getId(), SyncTombstone.CASHFLOW, cashflow.getId());
+        outbox.publish(OutboxEvent.CASHFLOW_DELETED, cashflow.getUser().getId(), cashflow.getId(), null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Cashflow> myCashflows() {
         return cashflows.findAllByUserEmailOrderByOccurredAtDescIdDesc(currentEmail());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Cashflow findById(Long id) {
         return findOwnedCashflow(id);
     }
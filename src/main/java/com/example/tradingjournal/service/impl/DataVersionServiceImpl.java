@@ -0,0 +1,85 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.model.UserDataVersion;
+import com.example.tradingjournal.repository.UserDataVersionRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.service.DataVersionService;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+@Service
+public class DataVersionServiceImpl implements DataVersionService {
+
+    private final UserDataVersionRepository versions;
+    private final UserRepository users;
+    private final TransactionTemplate newTransaction;
+
+    public DataVersionServiceImpl(UserDataVersionRepository versions, UserRepository users, PlatformTransactionManager transactionManager) {
+        this.versions = versions;
+        this.users = users;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String etag(String collection) {
+        // The user comes from the natural-id cache and the version is a primary key read,
+        // so a 304 never touches the trade, cashflow or settings tables.
+        User user = users.findByEmail(currentEmail())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+        long version = versions.findVersionByUserId(user.getId()).orElse(0L);
+        // The user id keeps a browser shared between accounts from revalidating one user's copy for another.
+        return "W/\"" + collection + "-" + user.getId() + "-" + version + "\"";
+    }
+
+    @Override
+    @Transactional
+    public long bump(Long userId) {
+        return reserve(userId, 1);
+    }
+
+    @Override
+    @Transactional
+    public long reserve(Long userId, int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive");
+        }
+        if (versions.increment(userId, count, Instant.now()) == 0) {
+            ensureRow(userId);
+            versions.increment(userId, count, Instant.now());
+        }
+        // The increment holds the row lock until commit, so versions are handed out in commit order per user.
+        return versions.findVersionByUserId(userId).orElseThrow() - count + 1;
+    }
+
+    /**
+     * Creates the counter row on first write. Runs in its own transaction so a concurrent insert cannot poison
+     * the caller's transaction.
+     */
+    private void ensureRow(Long userId) {
+        try {
+            newTransaction.executeWithoutResult(status -> versions.saveAndFlush(new UserDataVersion(userId, 0, Instant.now())));
+        } catch (DataIntegrityViolationException ex) {
+            // Another request created it first.
+        }
+    }
+
+    private String currentEmail() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return auth.getName();
+    }
+}
@@ -0,0 +1,306 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.MetricRecomputeChunk;
+import com.example.tradingjournal.model.MetricRecomputeJob;
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.repository.MetricRecomputeChunkRepository;
+import com.example.tradingjournal.repository.MetricRecomputeJobRepository;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.service.DataVersionService;
+import com.example.tradingjournal.service.InstrumentRegistry;
+import com.example.tradingjournal.service.MetricRecomputeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recomputes derived trade metrics in id-range chunks on a fixed pool.
+ * <p>
+ * Each chunk commits in its own transaction together with its checkpoint and the job counters, so a restart or a
+ * cancel loses at most the chunks in flight. Rows are written with a guarded update on their sync version: a user
+ * edit that lands while a chunk is running keeps its own, freshly computed metrics.
+ */
+@Service
+public class MetricRecomputeServiceImpl implements MetricRecomputeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricRecomputeServiceImpl.class);
+
+    private final MetricRecomputeJobRepository jobs;
+    private final MetricRecomputeChunkRepository chunks;
+    private final TradeRepository trades;
+    private final DataVersionService dataVersions;
+    private final TradeMetrics metrics;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int threads;
+    private final boolean resumeOnStartup;
+    private final ThreadPoolExecutor executor;
+    private final Set<Long> activeJobs = ConcurrentHashMap.newKeySet();
+    private final Counter scannedCount;
+    private final Counter updatedCount;
+    private final Timer chunkTimer;
+
+    public MetricRecomputeServiceImpl(
+            MetricRecomputeJobRepository jobs,
+            MetricRecomputeChunkRepository chunks,
+            TradeRepository trades,
+            DataVersionService dataVersions,
+            InstrumentRegistry instruments,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.trades.recompute.chunk-size:1000}") int chunkSize,
+            @Value("${app.trades.recompute.threads:4}") int threads,
+            @Value("${app.trades.recompute.resume-on-startup:true}") boolean resumeOnStartup
+    ) {
+        this.jobs = jobs;
+        this.chunks = chunks;
+        this.trades = trades;
+        this.dataVersions = dataVersions;
+        this.metrics = new TradeMetrics(instruments);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.resumeOnStartup = resumeOnStartup;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "metric-recompute");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scannedCount = Counter.builder("trades.recompute.scanned")
+                .description("Trades checked by the metric recompute job")
+                .register(meterRegistry);
+        this.updatedCount = Counter.builder("trades.recompute.updated")
+                .description("Trades whose derived metrics changed")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("trades.recompute.chunk")
+                .description("Time to recompute and commit one id-range chunk")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional
+    public MetricRecomputeJob start() {
+        if (jobs.existsByStatus(MetricRecomputeJob.RUNNING)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "A metric recompute is already running");
+        }
+        Long maxId = trades.findMaxId();
+        long maxTradeId = maxId == null ? 0 : maxId;
+        int totalChunks = (int) ((maxTradeId + chunkSize - 1) / chunkSize);
+        MetricRecomputeJob job = jobs.save(new MetricRecomputeJob(maxTradeId, chunkSize, totalChunks, Instant.now()));
+
+        List<MetricRecomputeChunk> ranges = new ArrayList<>(totalChunks);
+        for (long startId = 1; startId <= maxTradeId; startId += chunkSize) {
+            ranges.add(new MetricRecomputeChunk(job.getId(), startId, Math.min(startId + chunkSize, maxTradeId + 1)));
+        }
+        chunks.saveAll(ranges);
+
+        if (totalChunks == 0) {
+            job.setStatus(MetricRecomputeJob.COMPLETED);
+            job.setFinishedAt(Instant.now());
+            return job;
+        }
+        launchAfterCommit(job.getId());
+        return job;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MetricRecomputeJob> find(Long id) {
+        return jobs.findById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MetricRecomputeJob> latest() {
+        return jobs.findFirstByOrderByIdDesc();
+    }
+
+    @Override
+    @Transactional
+    public MetricRecomputeJob cancel(Long id) {
+        MetricRecomputeJob job = jobs.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recompute job not found"));
+        if (!MetricRecomputeJob.RUNNING.equals(job.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Recompute job is not running");
+        }
+        job.setStatus(MetricRecomputeJob.CANCELLED);
+        job.setFinishedAt(Instant.now());
+        return job;
+    }
+
+    @Override
+    @Transactional
+    public MetricRecomputeJob resume(Long id) {
+        MetricRecomputeJob job = jobs.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recompute job not found"));
+        if (MetricRecomputeJob.COMPLETED.equals(job.getStatus())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Recompute job is already completed");
+        }
+        if (activeJobs.contains(id)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Recompute job is already running");
+        }
+        if (MetricRecomputeJob.CANCELLED.equals(job.getStatus()) && jobs.existsByStatus(MetricRecomputeJob.RUNNING)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Another metric recompute is running");
+        }
+        job.setStatus(MetricRecomputeJob.RUNNING);
+        job.setFinishedAt(null);
+        launchAfterCommit(id);
+        return job;
+    }
+
+    @Override
+    public boolean isActive(Long id) {
+        return activeJobs.contains(id);
+    }
+
+    /**
+     * Picks up jobs that were running when the previous instance stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterrupted() {
+        if (!resumeOnStartup) {
+            return;
+        }
+        for (MetricRecomputeJob job : jobs.findAllByStatus(MetricRecomputeJob.RUNNING)) {
+            logger.info("Resuming metric recompute job {} at {}/{} chunks", job.getId(), job.getCompletedChunks(), job.getTotalChunks());
+            launch(job.getId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void launchAfterCommit(Long jobId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            launch(jobId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                launch(jobId);
+            }
+        });
+    }
+
+    private void launch(Long jobId) {
+        if (!activeJobs.add(jobId)) {
+            return;
+        }
+        Queue<Long> pending = new ConcurrentLinkedQueue<>(chunks.findPendingIds(jobId));
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[threads];
+        for (int i = 0; i < threads; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> drain(jobId, pending), executor);
+        }
+        CompletableFuture.allOf(workers).whenComplete((ignored, ex) -> finish(jobId));
+    }
+
+    private void drain(Long jobId, Queue<Long> pending) {
+        Long chunkId;
+        while ((chunkId = pending.poll()) != null) {
+            if (!MetricRecomputeJob.RUNNING.equals(jobs.findStatus(jobId).orElse(null))) {
+                return;
+            }
+            try {
+                Long id = chunkId;
+                chunkTimer.record(() -> transactionTemplate.executeWithoutResult(status -> recomputeChunk(jobId, id)));
+            } catch (RuntimeException ex) {
+                // The chunk stays pending; resuming the job retries it.
+                logger.warn("Metric recompute chunk {} of job {} failed: {}", chunkId, jobId, ex.getMessage());
+            }
+        }
+    }
+
+    private void recomputeChunk(Long jobId, Long chunkId) {
+        MetricRecomputeChunk chunk = chunks.claim(chunkId).orElse(null);
+        if (chunk == null) {
+            return;
+        }
+        List<Trade> rows = trades.findReadOnlyByIdRange(chunk.getStartId(), chunk.getEndId());
+        int failed = 0;
+        // Users in id order, so parallel chunks lock user version rows in the same order and cannot deadlock.
+        Map<Long, List<Changed>> changedByUser = new TreeMap<>();
+        for (Trade trade : rows) {
+            TradeMetrics.Metrics computed;
+            try {
+                computed = metrics.compute(trade.getSymbol(), trade.getDirection(), trade.getEntryPrice(),
+                        trade.getStopLossPrice(), trade.getTakeProfitPrice());
+            } catch (RuntimeException ex) {
+                failed++;
+                continue;
+            }
+            if (!computed.matches(trade)) {
+                changedByUser.computeIfAbsent(trade.getUser().getId(), userId -> new ArrayList<>())
+                        .add(new Changed(trade.getId(), trade.getSyncVersion(), computed));
+            }
+        }
+
+        int updated = 0;
+        for (Map.Entry<Long, List<Changed>> entry : changedByUser.entrySet()) {
+            // One update reserves a version per changed row: delta sync pages by version and must never find a
+            // whole chunk sharing one. A row skipped by a concurrent edit just leaves a gap.
+            List<Changed> changed = entry.getValue();
+            long version = dataVersions.reserve(entry.getKey(), changed.size());
+            for (Changed row : changed) {
+                TradeMetrics.Metrics m = row.metrics();
+                updated += trades.updateMetrics(row.tradeId(), row.syncVersion(), version++,
+                        m.slPips(), m.tpPips(), m.rrRatio(), m.pipSizeUsed());
+            }
+        }
+
+        chunk.complete(rows.size(), updated, Instant.now());
+        jobs.recordChunk(jobId, rows.size(), updated, failed);
+        scannedCount.increment(rows.size());
+        updatedCount.increment(updated);
+    }
+
+    private void finish(Long jobId) {
+        activeJobs.remove(jobId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> jobs.findById(jobId).ifPresent(job -> {
+                if (MetricRecomputeJob.RUNNING.equals(job.getStatus()) && chunks.countByJobIdAndCompletedAtIsNull(jobId) == 0) {
+                    job.setStatus(MetricRecomputeJob.COMPLETED);
+                    job.setFinishedAt(Instant.now());
+                    logger.info("Metric recompute job {} completed: {} trades scanned, {} updated, {} failed",
+                            jobId, job.getScannedTrades(), job.getUpdatedTrades(), job.getFailedTrades());
+                }
+            }));
+        } catch (RuntimeException ex) {
+            logger.warn("Failed to finish metric recompute job {}: {}", jobId, ex.getMessage());
+        }
+    }
+
+    private record Changed(Long tradeId, long syncVersion, TradeMetrics.Metrics metrics) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.OutboxEvent;
+import com.example.tradingjournal.repository.OutboxEventRepository;
+import com.example.tradingjournal.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    // OutboxEvent ids are IDENTITY, which keeps Hibernate from batching its inserts.
+    private static final String INSERT_EVENT = "insert into outbox_events "
+            + "(event_type, user_id, aggregate_id, payload, created_at, available_at, attempts) values (?, ?, ?, ?, ?, ?, 0)";
+
+    private final OutboxEventRepository events;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbc;
+
+    public OutboxServiceImpl(OutboxEventRepository events, ObjectMapper objectMapper, JdbcTemplate jdbc) {
+        this.events = events;
+        this.objectMapper = objectMapper;
+        this.jdbc = jdbc;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long userId, Long aggregateId, Map<String, ?> payload) {
+        events.save(new OutboxEvent(eventType, userId, aggregateId, toJson(payload), Instant.now()));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<Event> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.from(Instant.now());
+        jdbc.batchUpdate(INSERT_EVENT, batch, batch.size(), (statement, event) -> {
+            statement.setString(1, event.eventType());
+            statement.setLong(2, event.userId());
+            statement.setLong(3, event.aggregateId());
+            String json = toJson(event.payload());
+            if (json == null) {
+                statement.setNull(4, Types.VARCHAR);
+            } else {
+                statement.setString(4, json);
+            }
+            statement.setTimestamp(5, now);
+            statement.setTimestamp(6, now);
+        });
+    }
+
+    private String toJson(Map<String, ?> payload) {
+        try {
+            return payload == null || payload.isEmpty() ? null : objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Outbox payload is not serializable", ex);
+        }
+    }
+}
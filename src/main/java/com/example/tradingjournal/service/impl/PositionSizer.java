@@ -0,0 +1,89 @@
+package com.example.tradingjournal.service.impl;
+
+/**
+ * Column-wise position sizing kernel, a port of {@code calculateRiskPosition} from the UI.
+ * <p>
+ * Inputs and outputs are parallel primitive arrays filled by the caller, so the loop does plain double arithmetic
+ * with no boxing or allocation per setup. Missing inputs are {@code NaN}; every comparison against NaN is false, which
+ * makes them fail validation the same way the UI's {@code Number.isFinite} checks do.
+ */
+final class PositionSizer {
+
+    final int size;
+
+    final double[] entry;
+    final double[] stop;
+    final double[] pipSize;
+    final double[] unitsPerLot;
+    final double[] riskPercent;
+    /**
+     * Quote currency per one account currency: 1 when the account is in the quote currency, NaN when no pip value
+     * can be derived.
+     */
+    final double[] pipValueDivisor;
+    final boolean[] conversionValid;
+
+    final double[] slDistance;
+    final double[] slPips;
+    final double[] riskAmount;
+    final double[] units;
+    final double[] lots;
+    final double[] target2R;
+    final double[] target3R;
+    final boolean[] baseValid;
+    final boolean[] isLong;
+
+    PositionSizer(int size) {
+        this.size = size;
+        this.entry = new double[size];
+        this.stop = new double[size];
+        this.pipSize = new double[size];
+        this.unitsPerLot = new double[size];
+        this.riskPercent = new double[size];
+        this.pipValueDivisor = new double[size];
+        this.conversionValid = new boolean[size];
+        this.slDistance = new double[size];
+        this.slPips = new double[size];
+        this.riskAmount = new double[size];
+        this.units = new double[size];
+        this.lots = new double[size];
+        this.target2R = new double[size];
+        this.target3R = new double[size];
+        this.baseValid = new boolean[size];
+        this.isLong = new boolean[size];
+    }
+
+    void run(double balance) {
+        boolean balanceValid = balance > 0 && balance < Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            double e = entry[i];
+            double s = stop[i];
+            double risk = riskPercent[i];
+            double distance = Math.abs(e - s);
+            double pips = distance / pipSize[i];
+            boolean valid = balanceValid
+                    && risk > 0 && risk < Double.POSITIVE_INFINITY
+                    && e > 0 && e < Double.POSITIVE_INFINITY
+                    && s > 0 && s < Double.POSITIVE_INFINITY
+                    && e != s
+                    && pips > 0 && pips < Double.POSITIVE_INFINITY;
+
+            double amount = valid ? balance * (risk / 100) : Double.NaN;
+            double pipValue = pipSize[i] / pipValueDivisor[i];
+            double positionUnits = valid && conversionValid[i] && pipValue > 0
+                    ? amount / (pips * pipValue)
+                    : Double.NaN;
+            boolean longSide = e > s;
+
+            slDistance[i] = distance;
+            slPips[i] = pips;
+            riskAmount[i] = amount;
+            units[i] = positionUnits;
+            lots[i] = positionUnits / unitsPerLot[i];
+            target2R[i] = longSide ? e + 2 * distance : e - 2 * distance;
+            target3R[i] = longSide ? e + 3 * distance : e - 3 * distance;
+            baseValid[i] = valid;
+            isLong[i] = longSide;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.AccountSettings;
+import com.example.tradingjournal.service.AccountSettingsService;
+import com.example.tradingjournal.service.FinnhubQuoteService;
+import com.example.tradingjournal.service.InstrumentRegistry;
+import com.example.tradingjournal.service.PositionSizingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Service
+public class PositionSizingServiceImpl implements PositionSizingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PositionSizingServiceImpl.class);
+    private static final String GOLD = "XAUUSD";
+    private static final double DEFAULT_UNITS_PER_LOT = 100_000;
+    private static final double DEFAULT_GOLD_CONTRACT_SIZE = 100;
+
+    private final AccountSettingsService accountSettings;
+    private final InstrumentRegistry instruments;
+    private final FinnhubQuoteService quotes;
+    private final String apiKey;
+
+    public PositionSizingServiceImpl(
+            AccountSettingsService accountSettings,
+            InstrumentRegistry instruments,
+            FinnhubQuoteService quotes,
+            @Value("${FINNHUB_API_KEY:}") String apiKey
+    ) {
+        this.accountSettings = accountSettings;
+        this.instruments = instruments;
+        this.quotes = quotes;
+        this.apiKey = apiKey;
+    }
+
+    @Override
+    public List<Sizing> size(List<Setup> setups) {
+        AccountSettings account = accountSettings.getCurrentUserSettings()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Account settings are required for position sizing"));
+        double defaultRisk = account.getRiskPercent().doubleValue();
+        String accountCurrency = account.getCurrency() == null ? "" : account.getCurrency().trim().toUpperCase(Locale.ROOT);
+
+        int n = setups.size();
+        PositionSizer sizer = new PositionSizer(n);
+        String[] symbols = new String[n];
+        String[] bases = new String[n];
+        String[] quoteCurrencies = new String[n];
+        boolean[] needsConversion = new boolean[n];
+        RateLookup rates = new RateLookup(accountCurrency);
+
+        for (int i = 0; i < n; i++) {
+            Setup setup = setups.get(i);
+            String symbol = setup.symbol() == null ? "" : setup.symbol().trim().toUpperCase(Locale.ROOT);
+            InstrumentRegistry.Instrument instrument = instruments.find(symbol);
+            String base = instrument != null ? instrument.base() : symbol.length() >= 6 ? symbol.substring(0, 3) : "";
+            String quote = instrument != null ? instrument.quote() : symbol.length() >= 6 ? symbol.substring(3) : "";
+            double entry = orNaN(setup.entryPrice());
+
+            symbols[i] = symbol;
+            bases[i] = base;
+            quoteCurrencies[i] = quote;
+            sizer.entry[i] = entry;
+            sizer.stop[i] = orNaN(setup.stopLossPrice());
+            sizer.riskPercent[i] = setup.riskPercent() == null ? defaultRisk : setup.riskPercent();
+            sizer.pipSize[i] = instrument != null ? instrument.pipSizeValue() : instruments.pipSize(symbol).doubleValue();
+            sizer.unitsPerLot[i] = unitsPerLot(symbol, instrument, setup.contractSize());
+
+            boolean needs = !accountCurrency.isEmpty() && !quote.isEmpty() && !base.isEmpty()
+                    && !accountCurrency.equals(quote) && !accountCurrency.equals(base);
+            needsConversion[i] = needs;
+            if (accountCurrency.equals(quote)) {
+                sizer.pipValueDivisor[i] = 1;
+                sizer.conversionValid[i] = true;
+            } else if (accountCurrency.equals(base)) {
+                // Quote currency per account currency is the pair's own price.
+                sizer.pipValueDivisor[i] = entry;
+                sizer.conversionValid[i] = true;
+            } else if (needs) {
+                double rate = setup.conversionRate() != null ? setup.conversionRate() : rates.quotePerAccount(quote);
+                sizer.pipValueDivisor[i] = rate;
+                sizer.conversionValid[i] = rate > 0 && rate < Double.POSITIVE_INFINITY;
+            } else {
+                sizer.pipValueDivisor[i] = Double.NaN;
+                sizer.conversionValid[i] = true;
+            }
+        }
+
+        sizer.run(account.getStartingBalance().doubleValue());
+
+        List<Sizing> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new Sizing(
+                    symbols[i],
+                    sizer.baseValid[i] && sizer.conversionValid[i],
+                    sizer.baseValid[i],
+                    sizer.conversionValid[i],
+                    needsConversion[i],
+                    bases[i],
+                    quoteCurrencies[i],
+                    needsConversion[i] ? sizer.pipValueDivisor[i] : Double.NaN,
+                    sizer.pipSize[i],
+                    sizer.slDistance[i],
+                    sizer.isLong[i] ? "LONG" : "SHORT",
+                    sizer.slPips[i],
+                    sizer.riskAmount[i],
+                    sizer.units[i],
+                    sizer.lots[i],
+                    sizer.target2R[i],
+                    sizer.target3R[i]
+            ));
+        }
+        return result;
+    }
+
+    private static double unitsPerLot(String symbol, InstrumentRegistry.Instrument instrument, Double contractSize) {
+        if (GOLD.equals(symbol)) {
+            return contractSize != null && contractSize > 0 && contractSize < Double.POSITIVE_INFINITY
+                    ? contractSize
+                    : DEFAULT_GOLD_CONTRACT_SIZE;
+        }
+        return instrument != null ? instrument.unitsPerLot() : DEFAULT_UNITS_PER_LOT;
+    }
+
+    private static double orNaN(Double value) {
+        return value == null ? Double.NaN : value;
+    }
+
+    /**
+     * Cross rates for one batch, looked up once per quote currency from the cached Finnhub table. After the first
+     * failure the rest of the batch goes without, leaving those setups for the client to supply a rate.
+     */
+    private final class RateLookup {
+
+        private final String accountCurrency;
+        private final Map<String, Double> byQuote = new HashMap<>();
+        private boolean unavailable;
+
+        RateLookup(String accountCurrency) {
+            this.accountCurrency = accountCurrency;
+        }
+
+        double quotePerAccount(String quoteCurrency) {
+            Double known = byQuote.get(quoteCurrency);
+            if (known != null) {
+                return known;
+            }
+            double rate = unavailable ? Double.NaN : fetch(quoteCurrency);
+            byQuote.put(quoteCurrency, rate);
+            return rate;
+        }
+
+        private double fetch(String quoteCurrency) {
+            if (apiKey == null || apiKey.isBlank()) {
+                unavailable = true;
+                return Double.NaN;
+            }
+            try {
+                BigDecimal rate = quotes.cachedRate(apiKey, accountCurrency, quoteCurrency);
+                return rate == null ? Double.NaN : rate.doubleValue();
+            } catch (ResponseStatusException ex) {
+                logger.debug("No FX rate for {}/{}: {}", accountCurrency, quoteCurrency, ex.getReason());
+                unavailable = true;
+                return Double.NaN;
+            }
+        }
+    }
+}
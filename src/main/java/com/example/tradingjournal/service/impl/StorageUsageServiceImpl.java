@@ -0,0 +1,176 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.UserStorageUsage;
+import com.example.tradingjournal.repository.TradeAttachmentRepository;
+import com.example.tradingjournal.repository.UserStorageUsageRepository;
+import com.example.tradingjournal.service.StorageUsageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Per-user byte and file counters for attachments.
+ * <p>
+ * The {@code user_storage_usage} table is the source of truth and is updated in the same transaction as the
+ * attachment row. Reads are served from an in-memory map that is only touched after commit, so a rolled back
+ * upload never shows up in the cached numbers.
+ */
+@Service
+public class StorageUsageServiceImpl implements StorageUsageService {
+
+    private final UserStorageUsageRepository usages;
+    private final TradeAttachmentRepository attachments;
+    private final TransactionTemplate newTransaction;
+    private final long defaultMaxBytes;
+    private final long maxFiles;
+    private final ConcurrentMap<Long, StorageUsage> cache = new ConcurrentHashMap<>();
+
+    public StorageUsageServiceImpl(
+            UserStorageUsageRepository usages,
+            TradeAttachmentRepository attachments,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.upload.quota.max-bytes-per-user:0}") long defaultMaxBytes,
+            @Value("${app.upload.quota.max-files-per-user:0}") long maxFiles
+    ) {
+        this.usages = usages;
+        this.attachments = attachments;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.defaultMaxBytes = defaultMaxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public StorageUsage usageFor(Long userId) {
+        StorageUsage cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        UserStorageUsage row = ensureRow(userId);
+        StorageUsage loaded = new StorageUsage(row.getBytesUsed(), row.getFileCount(), row.getQuotaBytes());
+        StorageUsage existing = cache.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    @Override
+    public void checkQuota(Long userId, long bytes) {
+        StorageUsage usage = usageFor(userId);
+        long maxBytes = effectiveMaxBytes(usage.quotaBytes());
+        if (maxBytes > 0 && usage.bytesUsed() + bytes > maxBytes) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Storage quota exceeded");
+        }
+        if (maxFiles > 0 && usage.fileCount() + 1 > maxFiles) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Attachment limit reached");
+        }
+    }
+
+    @Override
+    public void reserve(Long userId, long bytes) {
+        ensureRow(userId);
+        int updated = usages.reserve(userId, bytes, defaultMaxBytes, maxFiles, Instant.now());
+        if (updated == 0) {
+            // Our cached view was behind another node; drop it so the next check reloads.
+            cache.remove(userId);
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Storage quota exceeded");
+        }
+        afterCommit(userId, bytes, 1);
+    }
+
+    @Override
+    public void release(Long userId, long bytes) {
+        ensureRow(userId);
+        usages.adjust(userId, -bytes, -1, Instant.now());
+        afterCommit(userId, -bytes, -1);
+    }
+
+    @Override
+    public void adjustBytes(Long userId, long bytesDelta) {
+        if (bytesDelta == 0) {
+            return;
+        }
+        ensureRow(userId);
+        usages.adjust(userId, bytesDelta, 0, Instant.now());
+        afterCommit(userId, bytesDelta, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserStorageUsage> heaviestUsers(int limit) {
+        int pageSize = Math.max(1, Math.min(limit, 500));
+        return usages.findAllByOrderByBytesUsedDesc(PageRequest.of(0, pageSize));
+    }
+
+    @Override
+    public UserStorageUsage updateQuota(Long userId, Long quotaBytes) {
+        if (quotaBytes != null && quotaBytes < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Quota must be zero or positive");
+        }
+        ensureRow(userId);
+        UserStorageUsage row = usages.findById(userId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Storage usage not found"));
+        row.setQuotaBytes(quotaBytes);
+        row.setUpdatedAt(Instant.now());
+        UserStorageUsage saved = usages.save(row);
+        cache.remove(userId);
+        return saved;
+    }
+
+    private long effectiveMaxBytes(Long quotaBytes) {
+        return quotaBytes != null ? quotaBytes : defaultMaxBytes;
+    }
+
+    /**
+     * Creates the counter row on first use, seeded from the attachments that already exist.
+     * Runs in its own transaction so a concurrent insert from another node cannot poison the caller's transaction.
+     */
+    private UserStorageUsage ensureRow(Long userId) {
+        return usages.findById(userId).orElseGet(() -> {
+            try {
+                return newTransaction.execute(status -> usages.saveAndFlush(new UserStorageUsage(
+                        userId,
+                        attachments.sumFileSizeByUserId(userId),
+                        attachments.countByTradeUserId(userId),
+                        Instant.now()
+                )));
+            } catch (DataIntegrityViolationException ex) {
+                return usages.findById(userId)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to initialise storage usage"));
+            }
+        });
+    }
+
+    private void afterCommit(Long userId, long bytesDelta, long filesDelta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyDelta(userId, bytesDelta, filesDelta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                applyDelta(userId, bytesDelta, filesDelta);
+            }
+        });
+    }
+
+    private void applyDelta(Long userId, long bytesDelta, long filesDelta) {
+        cache.computeIfPresent(userId, (id, usage) -> new StorageUsage(
+                Math.max(0, usage.bytesUsed() + bytesDelta),
+                Math.max(0, usage.fileCount() + filesDelta),
+                usage.quotaBytes()
+        ));
+    }
+}
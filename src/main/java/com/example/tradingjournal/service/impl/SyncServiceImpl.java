@@ -0,0 +1,124 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.Cashflow;
+import com.example.tradingjournal.model.SyncTombstone;
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.CashflowRepository;
+import com.example.tradingjournal.repository.SyncTombstoneRepository;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserDataVersionRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.service.DataVersionService;
+import com.example.tradingjournal.service.SyncService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+public class SyncServiceImpl implements SyncService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private final TradeRepository trades;
+    private final CashflowRepository cashflows;
+    private final SyncTombstoneRepository tombstones;
+    private final UserDataVersionRepository versions;
+    private final UserRepository users;
+    private final DataVersionService dataVersions;
+
+    public SyncServiceImpl(
+            TradeRepository trades,
+            CashflowRepository cashflows,
+            SyncTombstoneRepository tombstones,
+            UserDataVersionRepository versions,
+            UserRepository users,
+            DataVersionService dataVersions
+    ) {
+        this.trades = trades;
+        this.cashflows = cashflows;
+        this.tombstones = tombstones;
+        this.versions = versions;
+        this.users = users;
+        this.dataVersions = dataVersions;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long currentCursor() {
+        return versions.findVersionByUserId(currentUser().getId()).orElse(0L);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Changes changesSince(long since, int limit) {
+        if (since < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor must be zero or positive");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Limit must be between 1 and " + MAX_LIMIT);
+        }
+        Long userId = currentUser().getId();
+        // Versions are handed out under the counter's row lock, so every version up to this one is committed.
+        // The row queries below are capped at it: they run as separate statements, and a version committed in
+        // between could otherwise show up in one table while a smaller one in an earlier-read table is missed.
+        long current = versions.findVersionByUserId(userId).orElse(0L);
+        if (since > current) {
+            throw new ResponseStatusException(HttpStatus.GONE, "Unknown sync cursor, reload all data");
+        }
+
+        Pageable page = PageRequest.of(0, limit + 1);
+        List<Change> changes = new ArrayList<>();
+        for (Trade trade : trades.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(userId, since + 1, current, page)) {
+            changes.add(new Change(trade.getSyncVersion(), SyncTombstone.TRADE, false, trade.getId(), trade, null));
+        }
+        for (Cashflow cashflow : cashflows.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(userId, since + 1, current, page)) {
+            changes.add(new Change(cashflow.getSyncVersion(), SyncTombstone.CASHFLOW, false, cashflow.getId(), null, cashflow));
+        }
+        for (SyncTombstone tombstone : tombstones.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(userId, since + 1, current, page)) {
+            changes.add(new Change(tombstone.getSyncVersion(), tombstone.getEntityType(), true, tombstone.getEntityId(), null, null));
+        }
+        changes.sort(Comparator.comparingLong(Change::version));
+
+        if (changes.size() <= limit) {
+            return new Changes(current, false, changes);
+        }
+        // Never split a version across pages, otherwise the next cursor would skip the rest of it.
+        int end = limit;
+        while (end < changes.size() && changes.get(end).version() == changes.get(end - 1).version()) {
+            end++;
+        }
+        List<Change> pageOfChanges = List.copyOf(changes.subList(0, end));
+        return new Changes(pageOfChanges.get(pageOfChanges.size() - 1).version(), true, pageOfChanges);
+    }
+
+    @Override
+    @Transactional
+    public void recordDeletion(Long userId, String entityType, Long entityId) {
+        recordDeletion(userId, entityType, entityId, dataVersions.bump(userId));
+    }
+
+    @Override
+    @Transactional
+    public void recordDeletion(Long userId, String entityType, Long entityId, long version) {
+        tombstones.save(new SyncTombstone(userId, entityType, entityId, version, Instant.now()));
+    }
+
+    private User currentUser() {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth.getName() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return users.findByEmail(auth.getName())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.TradeArchiveEntry;
+import com.example.tradingjournal.model.TradeArchiveSegment;
+import com.example.tradingjournal.repository.TradeArchiveEntryRepository;
+import com.example.tradingjournal.repository.TradeArchiveSegmentRepository;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.service.TradeArchiveService;
+import com.example.tradingjournal.storage.BlobKeys;
+import com.example.tradingjournal.storage.BlobStore;
+import com.example.tradingjournal.storage.TradeSegmentCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Moves old closed trades out of the trades table into per-user segment files in the blob store.
+ * <p>
+ * Segments are written once and never modified. Reads decode whole segments and keep the most recently used ones
+ * in memory; a rehydrated trade is re-inserted with its original id and only its entry row is removed.
+ */
+@Service
+public class TradeArchiveServiceImpl implements TradeArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeArchiveServiceImpl.class);
+    private static final String KEY_PREFIX = "trade-archive/";
+
+    private static final String INSERT_TRADE = """
+            insert into trades (id, user_id, symbol, direction, entry_price, exit_price, close_reason_override,
+                                manual_reason, manual_description, followed_plan, mistakes_text, improvement_text,
+                                confidence, review_updated_at, stop_loss_price, take_profit_price, commission_money,
+                                swap_money, net_pnl_money, sl_pips, tp_pips, rr_ratio, pip_size_used, created_at,
+                                closed_at, updated_at, sync_version)
+            values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+    private static final String INSERT_ENTRY = "insert into trade_archive_entries (trade_id, segment_id, user_id) values (?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TradeRepository trades;
+    private final TradeArchiveSegmentRepository segments;
+    private final TradeArchiveEntryRepository entries;
+    private final JdbcTemplate jdbc;
+    private final BlobStore blobStore;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int segmentSize;
+    private final Map<Long, List<Trade>> decodedSegments;
+    private final Counter archivedCount;
+    private final Counter rehydratedCount;
+
+    public TradeArchiveServiceImpl(
+            TradeRepository trades,
+            TradeArchiveSegmentRepository segments,
+            TradeArchiveEntryRepository entries,
+            JdbcTemplate jdbc,
+            BlobStore blobStore,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.trades.archive.min-age:P365D}") Duration minAge,
+            @Value("${app.trades.archive.segment-size:5000}") int segmentSize,
+            @Value("${app.trades.archive.cache-segments:256}") int cacheSegments
+    ) {
+        this.trades = trades;
+        this.segments = segments;
+        this.entries = entries;
+        this.jdbc = jdbc;
+        this.blobStore = blobStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.segmentSize = segmentSize;
+        // Segments are immutable, so a decoded copy never goes stale; only its entries can.
+        this.decodedSegments = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, List<Trade>> eldest) {
+                return size() > cacheSegments;
+            }
+        });
+        this.archivedCount = Counter.builder("trades.archived")
+                .description("Trades moved into archive segments")
+                .register(meterRegistry);
+        this.rehydratedCount = Counter.builder("trades.rehydrated")
+                .description("Archived trades moved back into the trades table")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Trade> archivedTrades(String email, Instant from, Instant to) {
+        Map<TradeArchiveSegment, Set<Long>> idsBySegment = new LinkedHashMap<>();
+        for (TradeArchiveEntry entry : entries.findAllWithSegmentByUserEmail(email)) {
+            idsBySegment.computeIfAbsent(entry.getSegment(), segment -> new HashSet<>()).add(entry.getTradeId());
+        }
+        List<Trade> result = new ArrayList<>();
+        idsBySegment.forEach((segment, ids) -> {
+            if (segment.getMaxCreatedAt().isBefore(from) || !segment.getMinCreatedAt().isBefore(to)) {
+                return;
+            }
+            for (Trade trade : decoded(segment)) {
+                if (ids.contains(trade.getId())
+                        && !trade.getCreatedAt().isBefore(from)
+                        && trade.getCreatedAt().isBefore(to)) {
+                    result.add(trade);
+                }
+            }
+        });
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Trade> findArchived(String email, Long tradeId) {
+        return entries.findWithSegment(tradeId, email)
+                .map(entry -> findInSegment(entry.getSegment(), tradeId));
+    }
+
+    @Override
+    @Transactional
+    public Optional<Trade> rehydrate(String email, Long tradeId) {
+        Optional<TradeArchiveEntry> locked = entries.lockWithSegment(tradeId, email);
+        if (locked.isEmpty()) {
+            return Optional.empty();
+        }
+        TradeArchiveEntry entry = locked.get();
+        TradeArchiveSegment segment = entry.getSegment();
+        Trade archived = findInSegment(segment, tradeId);
+
+        insertWithOriginalId(archived, entry.getUserId());
+        entries.delete(entry);
+        entries.flush();
+        if (entries.countBySegmentId(segment.getId()) == 0) {
+            segments.delete(segment);
+            deleteBlobAfterCommit(segment);
+        }
+        rehydratedCount.increment();
+        return trades.findById(tradeId);
+    }
+
+    @Override
+    public int archiveAll() {
+        Instant closedBefore = Instant.now().minus(minAge);
+        int total = 0;
+        for (Long userId : trades.findUserIdsWithTradesClosedBefore(closedBefore)) {
+            try {
+                total += archiveUser(userId, closedBefore);
+            } catch (RuntimeException ex) {
+                // One user's bad data must not stop the rest; their trades simply stay in the table.
+                logger.warn("Failed to archive trades of user {}: {}", userId, ex.getMessage());
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int archiveUser(Long userId, Instant closedBefore) {
+        int total = 0;
+        int archived;
+        do {
+            Integer batch = transactionTemplate.execute(status -> archiveBatch(userId, closedBefore));
+            archived = batch == null ? 0 : batch;
+            total += archived;
+        } while (archived == segmentSize);
+        if (total > 0) {
+            logger.info("Archived {} trade(s) of user {}", total, userId);
+        }
+        return total;
+    }
+
+    private int archiveBatch(Long userId, Instant closedBefore) {
+        List<Trade> batch = trades.findArchivable(userId, closedBefore, PageRequest.of(0, segmentSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        String key = KEY_PREFIX + userId + "/" + BlobKeys.newKey("tjs");
+        byte[] encoded;
+        try {
+            encoded = TradeSegmentCodec.encode(batch);
+            blobStore.put(key, new ByteArrayInputStream(encoded), encoded.length, TradeSegmentCodec.CONTENT_TYPE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        deleteBlobOnRollback(key);
+
+        Instant minCreatedAt = batch.stream().map(Trade::getCreatedAt).min(Comparator.naturalOrder()).orElseThrow();
+        Instant maxCreatedAt = batch.stream().map(Trade::getCreatedAt).max(Comparator.naturalOrder()).orElseThrow();
+        TradeArchiveSegment segment = segments.save(new TradeArchiveSegment(
+                userId, key, batch.size(), encoded.length, minCreatedAt, maxCreatedAt, Instant.now()));
+
+        jdbc.batchUpdate(INSERT_ENTRY, batch, batch.size(), (statement, trade) -> {
+            statement.setLong(1, trade.getId());
+            statement.setLong(2, segment.getId());
+            statement.setLong(3, userId);
+        });
+        trades.deleteAllByIdIn(batch.stream().map(Trade::getId).toList());
+        archivedCount.increment(batch.size());
+        return batch.size();
+    }
+
+    private Trade findInSegment(TradeArchiveSegment segment, Long tradeId) {
+        return decoded(segment).stream()
+                .filter(trade -> trade.getId().equals(tradeId))
+                .findFirst()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Archived trade is missing from its segment"));
+    }
+
+    private List<Trade> decoded(TradeArchiveSegment segment) {
+        List<Trade> cached = decodedSegments.get(segment.getId());
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream in = blobStore.open(segment.getBlobKey())) {
+            List<Trade> decoded = List.copyOf(TradeSegmentCodec.decode(in));
+            decodedSegments.put(segment.getId(), decoded);
+            return decoded;
+        } catch (IOException ex) {
+            logger.warn("Failed to read archive segment {}: {}", segment.getBlobKey(), ex.getMessage());
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to read archived trades");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void insertWithOriginalId(Trade t, Long userId) {
+        // Native insert: an IDENTITY id cannot be assigned through persist(). Hibernate still binds the values,
+        // so timestamps and decimals are written exactly as the entity mapping would write them.
+        NativeQuery<Object> insert = entityManager.createNativeQuery(INSERT_TRADE).unwrap(NativeQuery.class);
+        int i = 1;
+        insert.setParameter(i++, t.getId(), Long.class);
+        insert.setParameter(i++, userId, Long.class);
+        insert.setParameter(i++, t.getSymbol(), String.class);
+        insert.setParameter(i++, t.getDirection(), String.class);
+        insert.setParameter(i++, t.getEntryPrice(), BigDecimal.class);
+        insert.setParameter(i++, t.getExitPrice(), BigDecimal.class);
+        insert.setParameter(i++, t.getCloseReasonOverride(), String.class);
+        insert.setParameter(i++, t.getManualReason(), String.class);
+        insert.setParameter(i++, t.getManualDescription(), String.class);
+        insert.setParameter(i++, t.getFollowedPlan(), String.class);
+        insert.setParameter(i++, t.getMistakesText(), String.class);
+        insert.setParameter(i++, t.getImprovementText(), String.class);
+        insert.setParameter(i++, t.getConfidence(), Integer.class);
+        insert.setParameter(i++, t.getReviewUpdatedAt(), Instant.class);
+        insert.setParameter(i++, t.getStopLossPrice(), BigDecimal.class);
+        insert.setParameter(i++, t.getTakeProfitPrice(), BigDecimal.class);
+        insert.setParameter(i++, t.getCommissionMoney(), BigDecimal.class);
+        insert.setParameter(i++, t.getSwapMoney(), BigDecimal.class);
+        insert.setParameter(i++, t.getNetPnlMoney(), BigDecimal.class);
+        insert.setParameter(i++, t.getSlPips(), BigDecimal.class);
+        insert.setParameter(i++, t.getTpPips(), BigDecimal.class);
+        insert.setParameter(i++, t.getRrRatio(), BigDecimal.class);
+        insert.setParameter(i++, t.getPipSizeUsed(), BigDecimal.class);
+        insert.setParameter(i++, t.getCreatedAt(), Instant.class);
+        insert.setParameter(i++, t.getClosedAt(), Instant.class);
+        insert.setParameter(i++, t.getUpdatedAt(), Instant.class);
+        insert.setParameter(i, t.getSyncVersion(), Long.class);
+        insert.executeUpdate();
+    }
+
+    private void deleteBlobOnRollback(String key) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteQuietly(key);
+                }
+            }
+        });
+    }
+
+    private void deleteBlobAfterCommit(TradeArchiveSegment segment) {
+        Long segmentId = segment.getId();
+        String key = segment.getBlobKey();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                decodedSegments.remove(segmentId);
+                deleteQuietly(key);
+            }
+        });
+    }
+
+    private void deleteQuietly(String key) {
+        try {
+            blobStore.delete(key);
+        } catch (IOException ex) {
+            logger.warn("Failed to delete {}: {}", key, ex.getMessage());
+        }
+    }
+}
@@ -1,68 +1,86 @@
 package com.example.tradingjournal.service.impl;
 
+import com.example.tradingjournal.model.OutboxEvent;
 import com.example.tradingjournal.model.Trade;
 import com.example.tradingjournal.model.TradeAttachment;
 import com.example.tradingjournal.model.TradeAttachmentSection;
 import com.example.tradingjournal.repository.TradeAttachmentRepository;
 import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.service.AttachmentBlobCleanupHandler;
+import com.example.tradingjournal.service.AttachmentImageOptimizerService;
+import com.example.tradingjournal.service.OutboxService;
+import com.example.tradingjournal.service.StorageUsageService;
+import com.example.tradingjournal.service.TradeArchiveService;
 import com.example.tradingjournal.service.TradeAttachmentService;
-import org.springframework.beans.factory.annotation.Value;
+import com.example.tradingjournal.storage.BlobKeys;
+import com.example.tradingjournal.storage.BlobStore;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
 
 @Service
 public class TradeAttachmentServiceImpl implements TradeAttachmentService {
     private static final long MAX_FILE_SIZE_BYTES = 10L * 1024 * 1024;
     private static final Set<String> ALLOWED_TYPES = Set.of("image/png", "image/jpeg", "image/jpg", "image/webp");
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("png", "jpg", "jpeg", "webp");
+    private static final int MAX_BATCH_TRADE_IDS = 200;
 
     private final TradeAttachmentRepository attachments;
     private final TradeRepository trades;
-    private final Path uploadRoot;
+    private final StorageUsageService storageUsage;
+    private final AttachmentImageOptimizerService imageOptimizer;
+    private final BlobStore blobStore;
+    private final TradeArchiveService archive;
+    private final OutboxService outbox;
 
     public TradeAttachmentServiceImpl(
             TradeAttachmentRepository attachments,
             TradeRepository trades,
-            @Value("${app.upload.dir:uploads}") String uploadDir
+            StorageUsageService storageUsage,
+            AttachmentImageOptimizerService imageOptimizer,
+            BlobStore blobStore,
+            TradeArchiveService archive,
+            OutboxService outbox
     ) {
         this.attachments = attachments;
         this.trades = trades;
-        this.uploadRoot = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.storageUsage = storageUsage;
+        this.imageOptimizer = imageOptimizer;
+        this.blobStore = blobStore;
+        this.archive = archive;
+        this.outbox = outbox;
     }
 
     @Override
+    @Transactional
     public TradeAttachment create(Long tradeId, TradeAttachmentSection section, MultipartFile file) {
         Trade trade = findOwnedTrade(tradeId);
-        validateFile(file);
+        Long userId = trade.getUser().getId();
+        validateFile(file, userId);
 
         String originalFilename = StringUtils.cleanPath(file.getOriginalFilename() == null ? "" : file.getOriginalFilename());
         String extension = resolveExtension(originalFilename, file.getContentType());
-        String storedFilename = UUID.randomUUID() + "." + extension;
+        String contentType = file.getContentType() == null ? "application/octet-stream" : file.getContentType();
+        String key = BlobKeys.newKey(extension);
 
-        Path relativePath = Paths.get("trades", tradeId.toString(), section.name(), storedFilename);
-        Path destination = uploadRoot.resolve(relativePath).normalize();
-        if (!destination.startsWith(uploadRoot)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid file path");
-        }
-
-        try {
-            Files.createDirectories(destination.getParent());
-            Files.copy(file.getInputStream(), destination, StandardCopyOption.REPLACE_EXISTING);
+        storageUsage.reserve(userId, file.getSize());
+        try (InputStream content = file.getInputStream()) {
+            blobStore.put(key, content, file.getSize(), contentType);
         } catch (IOException ex) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to store file");
         }
@@ -71,20 +89,67 @@ public class TradeAttachmentServiceImpl implements TradeAttachmentService {
         attachment.setTrade(trade);
         attachment.setSection(section);
         attachment.setOriginalFilename(originalFilename.isEmpty() ? null : originalFilename);
-        attachment.setContentType(file.getContentType() == null ? "application/octet-stream" : file.getContentType());
+        attachment.setContentType(contentType);
         attachment.setFileSize(file.getSize());
-        attachment.setRelativePath(normalizeRelativePath(relativePath));
+        attachment.setRelativePath(key);
         attachment.setCreatedAt(Instant.now());
-        return attachments.save(attachment);
+        TradeAttachment saved = attachments.save(attachment);
+        outbox.publish(OutboxEvent.ATTACHMENT_CREATED, userId, saved.getId(), Map.of("tradeId", tradeId));
+        imageOptimizer.scheduleAfterCommit(saved);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TradeAttachment> listForTrade(Long tradeId) {
-        findOwnedTrade(tradeId);
+        String email = currentEmail();
+        if (trades.findByIdAndUserEmail(tradeId, email).isEmpty()) {
+            // Only trades without attachments are archived.
+            archive.findArchived(email, tradeId)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trade not found"));
+            return List.of();
+        }
         return attachments.findAllByTradeIdOrderByCreatedAtDesc(tradeId);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<TradeAttachment>> listForTrades(List<Long> tradeIds) {
+        if (tradeIds == null || tradeIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trade ids are required");
+        }
+        Set<Long> uniqueIds = new LinkedHashSet<>();
+        for (Long tradeId : tradeIds) {
+            if (tradeId != null) {
+                uniqueIds.add(tradeId);
+            }
+        }
+        if (uniqueIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trade ids are required");
+        }
+        if (uniqueIds.size() > MAX_BATCH_TRADE_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_TRADE_IDS + " trade ids per request");
+        }
+
+        // One query for the whole page; ownership is part of the filter, so trades of other users just come back empty.
+        Map<Long, List<TradeAttachment>> grouped = new LinkedHashMap<>();
+        for (Long tradeId : uniqueIds) {
+            grouped.put(tradeId, new ArrayList<>());
+        }
+        List<TradeAttachment> found = attachments.findAllByTradeIdInAndTradeUserEmailOrderByCreatedAtDesc(uniqueIds, currentEmail());
+        for (TradeAttachment attachment : found) {
+            grouped.get(attachment.getTrade().getId()).add(attachment);
+        }
+        return grouped;
+    }
+
+    @Override
+    public String imageUrl(TradeAttachment attachment) {
+        return blobStore.publicUrl(attachment.getRelativePath());
+    }
+
+    @Override
+    @Transactional
     public TradeAttachment updateTimeframe(Long attachmentId, String timeframe) {
         TradeAttachment attachment = attachments.findByIdAndTradeUserEmail(attachmentId, currentEmail())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Attachment not found"));
@@ -93,34 +158,40 @@ public class TradeAttachmentServiceImpl implements TradeAttachmentService {
     }
 
     @Override
+    @Transactional
     public void delete(Long attachmentId) {
         TradeAttachment attachment = attachments.findByIdAndTradeUserEmail(attachmentId, currentEmail())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Attachment not found"));
-        Path path = uploadRoot.resolve(attachment.getRelativePath()).normalize();
-        try {
-            Files.deleteIfExists(path);
-        } catch (IOException ex) {
-            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete file");
-        }
+        Long userId = attachment.getTrade().getUser().getId();
+        storageUsage.release(userId, attachment.getStoredBytes());
         attachments.delete(attachment);
+        publishDeleted(userId, attachment);
     }
 
     @Override
+    @Transactional
     public void deleteByTradeId(Long tradeId) {
-        findOwnedTrade(tradeId);
+        Trade trade = findOwnedTrade(tradeId);
+        Long userId = trade.getUser().getId();
         List<TradeAttachment> tradeAttachments = attachments.findAllByTradeIdOrderByCreatedAtDesc(tradeId);
         for (TradeAttachment attachment : tradeAttachments) {
-            Path path = uploadRoot.resolve(attachment.getRelativePath()).normalize();
-            try {
-                Files.deleteIfExists(path);
-            } catch (IOException ex) {
-                throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Failed to delete file");
-            }
+            storageUsage.release(userId, attachment.getStoredBytes());
             attachments.delete(attachment);
+            publishDeleted(userId, attachment);
+        }
+    }
+
+    private void publishDeleted(Long userId, TradeAttachment attachment) {
+        // The file goes only after the row deletion commits; see AttachmentBlobCleanupHandler.
+        Map<String, String> payload = new LinkedHashMap<>();
+        payload.put(AttachmentBlobCleanupHandler.BLOB_KEY, attachment.getRelativePath());
+        if (attachment.getOriginalRelativePath() != null) {
+            payload.put(AttachmentBlobCleanupHandler.ORIGINAL_BLOB_KEY, attachment.getOriginalRelativePath());
         }
+        outbox.publish(OutboxEvent.ATTACHMENT_DELETED, userId, attachment.getId(), payload);
     }
 
-    private void validateFile(MultipartFile file) {
+    private void validateFile(MultipartFile file, Long userId) {
         if (file == null || file.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "File is required");
         }
@@ -138,6 +209,7 @@ public class TradeAttachmentServiceImpl implements TradeAttachmentService {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported file extension");
             }
         }
+        storageUsage.checkQuota(userId, file.getSize());
     }
 
     private String resolveExtension(String filename, String contentType) {
@@ -156,12 +228,12 @@ public class TradeAttachmentServiceImpl implements TradeAttachmentService {
         return "png";
     }
 
-    private String normalizeRelativePath(Path relativePath) {
-        return relativePath.toString().replace("\\", "/");
-    }
-
     private Trade findOwnedTrade(Long tradeId) {
-        return trades.findByIdAndUserEmail(tradeId, currentEmail())
+        String email = currentEmail();
+        // Attaching a file to an archived trade brings it back, since attachments reference the trades table.
+        return trades.findByIdAndUserEmail(tradeId, email)
+                .or(() -> archive.rehydrate(email, tradeId))
+                .or(() -> trades.findByIdAndUserEmail(tradeId, email))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trade not found"));
     }
 
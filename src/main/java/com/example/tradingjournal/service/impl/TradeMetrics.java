@@ -0,0 +1,96 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.service.InstrumentRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Derived columns of a trade: stop and target distance in pips, risk:reward and the pip size they were computed
+ * with. Shared by trade writes and the metric recompute job so both follow the same rules.
+ */
+final class TradeMetrics {
+
+    private final InstrumentRegistry instruments;
+
+    TradeMetrics(InstrumentRegistry instruments) {
+        this.instruments = instruments;
+    }
+
+    record Metrics(BigDecimal slPips, BigDecimal tpPips, BigDecimal rrRatio, BigDecimal pipSizeUsed) {
+        static Metrics empty() {
+            return new Metrics(null, null, null, null);
+        }
+
+        void applyTo(Trade trade) {
+            trade.setSlPips(slPips);
+            trade.setTpPips(tpPips);
+            trade.setRrRatio(rrRatio);
+            trade.setPipSizeUsed(pipSizeUsed);
+        }
+
+        /**
+         * Whether the trade already holds these values; scale differences from the database do not count.
+         */
+        boolean matches(Trade trade) {
+            return sameValue(slPips, trade.getSlPips())
+                    && sameValue(tpPips, trade.getTpPips())
+                    && sameValue(rrRatio, trade.getRrRatio())
+                    && sameValue(pipSizeUsed, trade.getPipSizeUsed());
+        }
+
+        private static boolean sameValue(BigDecimal a, BigDecimal b) {
+            return a == null || b == null ? Objects.equals(a, b) : a.compareTo(b) == 0;
+        }
+    }
+
+    Metrics compute(String symbol, String direction, BigDecimal entryPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice) {
+        if (stopLossPrice == null && takeProfitPrice == null) {
+            return Metrics.empty();
+        }
+
+        BigDecimal pipSize = instruments.pipSize(symbol);
+        BigDecimal slPips = null;
+        BigDecimal tpPips = null;
+        BigDecimal rrRatio = null;
+
+        if (stopLossPrice != null) {
+            slPips = entryPrice.subtract(stopLossPrice).abs()
+                    .divide(pipSize, 4, RoundingMode.HALF_UP)
+                    .setScale(1, RoundingMode.HALF_UP);
+        }
+
+        if (takeProfitPrice != null) {
+            tpPips = takeProfitPrice.subtract(entryPrice).abs()
+                    .divide(pipSize, 4, RoundingMode.HALF_UP)
+                    .setScale(1, RoundingMode.HALF_UP);
+        }
+
+        if (stopLossPrice != null && takeProfitPrice != null) {
+            BigDecimal risk;
+            BigDecimal reward;
+
+            if (direction.equalsIgnoreCase("LONG")) {
+                risk = entryPrice.subtract(stopLossPrice);
+                reward = takeProfitPrice.subtract(entryPrice);
+            } else {
+                risk = stopLossPrice.subtract(entryPrice);
+                reward = entryPrice.subtract(takeProfitPrice);
+            }
+
+            if (risk.signum() <= 0 || reward.signum() <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Risk and reward must be positive based on Entry/SL/TP ordering");
+            }
+
+            rrRatio = reward
+                    .divide(risk, 4, RoundingMode.HALF_UP)
+                    .setScale(2, RoundingMode.HALF_UP);
+        }
+
+        return new Metrics(slPips, tpPips, rrRatio, instruments.pipSizeUsed(symbol));
+    }
+}
@@ -1,31 +1,68 @@
 package com.example.tradingjournal.service.impl;
 
+import com.example.tradingjournal.model.OutboxEvent;
+import com.example.tradingjournal.model.SyncTombstone;
 import com.example.tradingjournal.model.Trade;
 import com.example.tradingjournal.model.User;
 import com.example.tradingjournal.repository.TradeRepository;
 import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.service.DataVersionService;
+import com.example.tradingjournal.service.InstrumentRegistry;
+import com.example.tradingjournal.service.OutboxService;
+import com.example.tradingjournal.service.SyncService;
+import com.example.tradingjournal.service.TradeArchiveService;
+import com.example.tradingjournal.service.TradeFields;
 import com.example.tradingjournal.service.TradeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class TradeServiceImpl implements TradeService {
 
+    private static final Instant RANGE_START = Instant.EPOCH;
+    private static final Instant RANGE_END = Instant.parse("9999-01-01T00:00:00Z");
+    private static final Comparator<Trade> NEWEST_FIRST = Comparator.comparing(Trade::getCreatedAt)
+            .thenComparing(Trade::getId)
+            .reversed();
+    // Projected rows from TradeRepository.findFieldsByUserEmail: [id, createdAt, ...].
+    private static final Comparator<Object[]> NEWEST_ROW_FIRST = Comparator
+            .comparing((Object[] row) -> (Instant) row[1])
+            .thenComparing(row -> (Long) row[0])
+            .reversed();
+
     private final TradeRepository trades;
     private final UserRepository users;
     private final com.example.tradingjournal.service.TradeAttachmentService attachments;
+    private final DataVersionService dataVersions;
+    private final SyncService sync;
+    private final TradeArchiveService archive;
+    private final OutboxService outbox;
+    private final TradeMetrics metricsCalculator;
 
-    public TradeServiceImpl(TradeRepository trades, UserRepository users, com.example.tradingjournal.service.TradeAttachmentService attachments) {
+    public TradeServiceImpl(TradeRepository trades, UserRepository users, com.example.tradingjournal.service.TradeAttachmentService attachments, DataVersionService dataVersions, SyncService sync, TradeArchiveService archive, OutboxService outbox, InstrumentRegistry instruments) {
         this.trades = trades;
         this.users = users;
         this.attachments = attachments;
+        this.dataVersions = dataVersions;
+        this.sync = sync;
+        this.archive = archive;
+        this.outbox = outbox;
+        this.metricsCalculator = new TradeMetrics(instruments);
     }
 
     private User currentUser() {
@@ -34,14 +71,19 @@ public class TradeServiceImpl implements TradeService {
     }
 
     @Override
+    @Transactional
     public Trade create(String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, String closeReasonOverride, String manualReason, String manualDescription, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, Instant closedAt) {
+        Trade t = newTrade(symbol, direction, entryPrice, exitPrice, closeReasonOverride, manualReason, manualDescription, stopLossPrice, takeProfitPrice, commissionMoney, swapMoney, netPnlMoney, closedAt);
+        t.setUser(currentUser());
+        t.setSyncVersion(dataVersions.bump(t.getUser().getId()));
+        return saved(t, OutboxEvent.TRADE_CREATED);
+    }
+
+    private Trade newTrade(String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, String closeReasonOverride, String manualReason, String manualDescription, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, Instant closedAt) {
         if (closedAt == null) {
             exitPrice = null;
         }
-        validateTradeInput(symbol, direction, entryPrice, exitPrice, stopLossPrice, takeProfitPrice);
-        validateBrokerFields(commissionMoney, swapMoney, netPnlMoney);
-        validateClosedTrade(exitPrice, closedAt);
-        Metrics metrics = computeMetrics(symbol, direction, entryPrice, stopLossPrice, takeProfitPrice);
+        TradeMetrics.Metrics metrics = validatedMetrics(symbol, direction, entryPrice, exitPrice, stopLossPrice, takeProfitPrice, commissionMoney, swapMoney, netPnlMoney, closedAt);
         String normalizedCloseReason = normalizeCloseReason(closeReasonOverride);
         ManualDetails manualDetails = normalizeManualDetails(normalizedCloseReason, manualReason, manualDescription);
 
@@ -58,14 +100,18 @@ public class TradeServiceImpl implements TradeService {
         t.setCommissionMoney(commissionMoney);
         t.setSwapMoney(swapMoney);
         t.setNetPnlMoney(netPnlMoney);
-        t.setSlPips(metrics.slPips());
-        t.setTpPips(metrics.tpPips());
-        t.setRrRatio(metrics.rrRatio());
-        t.setPipSizeUsed(metrics.pipSizeUsed());
+        metrics.applyTo(t);
         t.setCreatedAt(Instant.now());
         t.setClosedAt(closedAt);
-        t.setUser(currentUser());
-        return trades.save(t);
+        t.setUpdatedAt(t.getCreatedAt());
+        return t;
+    }
+
+    private TradeMetrics.Metrics validatedMetrics(String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, Instant closedAt) {
+        validateTradeInput(symbol, direction, entryPrice, exitPrice, stopLossPrice, takeProfitPrice);
+        validateBrokerFields(commissionMoney, swapMoney, netPnlMoney);
+        validateClosedTrade(exitPrice, closedAt);
+        return metricsCalculator.compute(symbol, direction, entryPrice, stopLossPrice, takeProfitPrice);
     }
 
     private String currentEmail() {
@@ -77,44 +123,145 @@ public class TradeServiceImpl implements TradeService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Trade> myTrades() {
-        return trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(currentEmail());
+        String email = currentEmail();
+        return withArchived(trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(email),
+                archive.archivedTrades(email, RANGE_START, RANGE_END));
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<Trade> myTrades(Instant from, Instant to) {
+        if (from == null && to == null) {
+            return myTrades();
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From must be before to");
+        }
+        String email = currentEmail();
+        Instant rangeFrom = from != null ? from : RANGE_START;
+        Instant rangeTo = to != null ? to : RANGE_END;
+        // Both bounds are always bound, never "or is null", so partition pruning still applies to an open range.
+        return withArchived(
+                trades.findAllByUserEmailAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(email, rangeFrom, rangeTo),
+                archive.archivedTrades(email, rangeFrom, rangeTo)
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> myTradeFields(List<String> fields, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From must be before to");
+        }
+        String email = currentEmail();
+        Instant rangeFrom = from != null ? from : RANGE_START;
+        Instant rangeTo = to != null ? to : RANGE_END;
+        // id and createdAt come back with every row (they order the archive merge), so they are not selected twice.
+        List<String> selected = new ArrayList<>();
+        int[] columns = new int[fields.size()];
+        for (int i = 0; i < fields.size(); i++) {
+            String field = fields.get(i);
+            if (field.equals(TradeFields.ID)) {
+                columns[i] = 0;
+            } else if (field.equals(TradeFields.CREATED_AT)) {
+                columns[i] = 1;
+            } else {
+                columns[i] = 2 + selected.size();
+                selected.add(field);
+            }
+        }
+        List<Object[]> live = trades.findFieldsByUserEmail(email, selected, rangeFrom, rangeTo);
+        List<Trade> archived = archive.archivedTrades(email, rangeFrom, rangeTo);
+
+        List<Object[]> merged = live;
+        if (!archived.isEmpty()) {
+            merged = new ArrayList<>(live.size() + archived.size());
+            merged.addAll(live);
+            for (Trade trade : archived) {
+                Object[] values = new Object[2 + selected.size()];
+                values[0] = trade.getId();
+                values[1] = trade.getCreatedAt();
+                for (int i = 0; i < selected.size(); i++) {
+                    values[2 + i] = TradeFields.read(trade, selected.get(i));
+                }
+                merged.add(values);
+            }
+            merged.sort(NEWEST_ROW_FIRST);
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(merged.size());
+        for (Object[] values : merged) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.length; i++) {
+                row.put(fields.get(i), values[columns[i]]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private List<Trade> withArchived(List<Trade> live, List<Trade> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<Trade> merged = new ArrayList<>(live.size() + archived.size());
+        merged.addAll(live);
+        merged.addAll(archived);
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Trade findById(Long id) {
-        return findOwnedTrade(id);
+        return trades.findByIdAndUserEmail(id, currentEmail())
+                .or(() -> archive.findArchived(currentEmail(), id))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trade not found"));
     }
 
     @Override
+    @Transactional
     public Trade update(Long id, String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, String closeReasonOverride, String manualReason, String manualDescription, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, Instant closedAt, Instant createdAt) {
         if (closedAt == null) {
             exitPrice = null;
         }
-        validateTradeInput(symbol, direction, entryPrice, exitPrice, stopLossPrice, takeProfitPrice);
-        validateBrokerFields(commissionMoney, swapMoney, netPnlMoney);
-        validateClosedTrade(exitPrice, closedAt);
-        Metrics metrics = computeMetrics(symbol, direction, entryPrice, stopLossPrice, takeProfitPrice);
+        TradeMetrics.Metrics metrics = validatedMetrics(symbol, direction, entryPrice, exitPrice, stopLossPrice, takeProfitPrice, commissionMoney, swapMoney, netPnlMoney, closedAt);
 
         Trade t = findOwnedTrade(id);
+        applyUpdate(t, metrics, symbol, direction, entryPrice, exitPrice, closeReasonOverride, manualReason, manualDescription, stopLossPrice, takeProfitPrice, commissionMoney, swapMoney, netPnlMoney, closedAt, createdAt);
+        t.setSyncVersion(dataVersions.bump(t.getUser().getId()));
+        return saved(t, OutboxEvent.TRADE_UPDATED);
+    }
+
+    /**
+     * Applies an already validated update; {@code exitPrice} must already be cleared for an open trade.
+     */
+    private void applyUpdate(Trade t, TradeMetrics.Metrics metrics, String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, String closeReasonOverride, String manualReason, String manualDescription, BigDecimal stopLossPrice, BigDecimal takeProfitPrice, BigDecimal commissionMoney, BigDecimal swapMoney, BigDecimal netPnlMoney, Instant closedAt, Instant createdAt) {
         Instant createdAtToUse = createdAt != null ? createdAt : t.getCreatedAt();
         if (createdAtToUse == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Created time is required");
         }
-        t.setSymbol(normalizeSymbol(symbol));
-        t.setDirection(direction.toUpperCase());
-        t.setEntryPrice(entryPrice);
-        t.setExitPrice(exitPrice);
         String normalizedCloseReason = null;
+        ManualDetails manualDetails = null;
         if (closeReasonOverride != null) {
             normalizedCloseReason = normalizeCloseReason(closeReasonOverride);
-            t.setCloseReasonOverride(normalizedCloseReason);
         }
         if (closeReasonOverride != null || manualReason != null || manualDescription != null) {
             if (closeReasonOverride == null) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Close reason is required when manual details are provided");
             }
-            ManualDetails manualDetails = normalizeManualDetails(normalizedCloseReason, manualReason, manualDescription);
+            manualDetails = normalizeManualDetails(normalizedCloseReason, manualReason, manualDescription);
+        }
+        t.setSymbol(normalizeSymbol(symbol));
+        t.setDirection(direction.toUpperCase());
+        t.setEntryPrice(entryPrice);
+        t.setExitPrice(exitPrice);
+        if (closeReasonOverride != null) {
+            t.setCloseReasonOverride(normalizedCloseReason);
+        }
+        if (manualDetails != null) {
             t.setManualReason(manualDetails.manualReason());
             t.setManualDescription(manualDetails.manualDescription());
         }
@@ -123,19 +270,22 @@ public class TradeServiceImpl implements TradeService {
         t.setCommissionMoney(commissionMoney);
         t.setSwapMoney(swapMoney);
         t.setNetPnlMoney(netPnlMoney);
-        t.setSlPips(metrics.slPips());
-        t.setTpPips(metrics.tpPips());
-        t.setRrRatio(metrics.rrRatio());
-        t.setPipSizeUsed(metrics.pipSizeUsed());
+        metrics.applyTo(t);
         t.setCreatedAt(createdAtToUse);
         t.setClosedAt(closedAt);
-
-        return trades.save(t);
+        t.setUpdatedAt(Instant.now());
     }
 
     @Override
+    @Transactional
     public Trade updateReview(Long id, String followedPlan, String mistakesText, String improvementText, Integer confidence) {
         Trade t = findOwnedTrade(id);
+        applyReview(t, followedPlan, mistakesText, improvementText, confidence);
+        t.setSyncVersion(dataVersions.bump(t.getUser().getId()));
+        return saved(t, OutboxEvent.TRADE_UPDATED);
+    }
+
+    private void applyReview(Trade t, String followedPlan, String mistakesText, String improvementText, Integer confidence) {
         String normalizedFollowedPlan = normalizeFollowedPlan(followedPlan);
         if (normalizedFollowedPlan == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Followed plan is required");
@@ -148,22 +298,143 @@ public class TradeServiceImpl implements TradeService {
         t.setImprovementText(normalizeOptionalText(improvementText));
         t.setConfidence(confidence);
         t.setReviewUpdatedAt(Instant.now());
-        return trades.save(t);
+        t.setUpdatedAt(Instant.now());
+    }
+
+    private Trade saved(Trade t, String eventType) {
+        Trade saved = trades.save(t);
+        outbox.publish(eventType, saved.getUser().getId(), saved.getId(), null);
+        return saved;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        Trade t = findOwnedTrade(id);
+        remove(findOwnedTrade(id));
+    }
+
+    private void remove(Trade t) {
         attachments.deleteByTradeId(t.getId());
         trades.delete(t);
+        sync.recordDeletion(t.getUser().getId(), SyncTombstone.TRADE, t.getId());
+        outbox.publish(OutboxEvent.TRADE_DELETED, t.getUser().getId(), t.getId(), null);
     }
 
     @Override
+    @Transactional
+    public BatchResult batch(List<BatchOperation> operations) {
+        String email = currentEmail();
+        User user = currentUser();
+        Map<Long, Trade> owned = ownedTrades(email, operations);
+        // One version per operation, reserved in a single update; a failed batch rolls the reservation back too.
+        long firstVersion = dataVersions.reserve(user.getId(), operations.size());
+        List<OutboxService.Event> events = new ArrayList<>(operations.size());
+        Set<Long> deleted = new HashSet<>();
+        List<BatchItemResult> results = new ArrayList<>(operations.size());
+        boolean failed = false;
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation operation = operations.get(i);
+            String op = batchOp(operation);
+            long version = firstVersion + i;
+            try {
+                results.add(switch (op) {
+                    case BATCH_CREATE -> {
+                        Trade t = newTrade(operation.symbol(), operation.direction(), operation.entryPrice(), operation.exitPrice(), operation.closeReasonOverride(), operation.manualReason(), operation.manualDescription(), operation.stopLossPrice(), operation.takeProfitPrice(), operation.commissionMoney(), operation.swapMoney(), operation.netPnlMoney(), operation.closedAt());
+                        t.setUser(user);
+                        t.setSyncVersion(version);
+                        Trade created = trades.save(t);
+                        events.add(new OutboxService.Event(OutboxEvent.TRADE_CREATED, user.getId(), created.getId(), null));
+                        yield new BatchItemResult(i, op, HttpStatus.CREATED.value(), created.getId(), null, created);
+                    }
+                    case BATCH_UPDATE -> {
+                        BigDecimal exitPrice = operation.closedAt() != null ? operation.exitPrice() : null;
+                        TradeMetrics.Metrics metrics = validatedMetrics(operation.symbol(), operation.direction(), operation.entryPrice(), exitPrice, operation.stopLossPrice(), operation.takeProfitPrice(), operation.commissionMoney(), operation.swapMoney(), operation.netPnlMoney(), operation.closedAt());
+                        Trade t = batchTarget(owned, deleted, operation.id());
+                        applyUpdate(t, metrics, operation.symbol(), operation.direction(), operation.entryPrice(), exitPrice, operation.closeReasonOverride(), operation.manualReason(), operation.manualDescription(), operation.stopLossPrice(), operation.takeProfitPrice(), operation.commissionMoney(), operation.swapMoney(), operation.netPnlMoney(), operation.closedAt(), operation.createdAt());
+                        yield updated(i, op, t, version, events);
+                    }
+                    case BATCH_REVIEW -> {
+                        Trade t = batchTarget(owned, deleted, operation.id());
+                        applyReview(t, operation.followedPlan(), operation.mistakesText(), operation.improvementText(), operation.confidence());
+                        yield updated(i, op, t, version, events);
+                    }
+                    case BATCH_DELETE -> {
+                        Trade t = batchTarget(owned, deleted, operation.id());
+                        attachments.deleteByTradeId(t.getId());
+                        trades.delete(t);
+                        sync.recordDeletion(user.getId(), SyncTombstone.TRADE, t.getId(), version);
+                        events.add(new OutboxService.Event(OutboxEvent.TRADE_DELETED, user.getId(), t.getId(), null));
+                        deleted.add(t.getId());
+                        yield new BatchItemResult(i, op, HttpStatus.NO_CONTENT.value(), t.getId(), null, null);
+                    }
+                    default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Operation must be CREATE, UPDATE, REVIEW or DELETE");
+                });
+            } catch (ResponseStatusException ex) {
+                failed = true;
+                results.add(new BatchItemResult(i, op, ex.getStatusCode().value(), operation.id(), ex.getReason(), null));
+            }
+        }
+        if (!failed) {
+            outbox.publishAll(events);
+            return new BatchResult(true, results);
+        }
+        // Keep validating every item so the client sees all errors at once, then discard everything.
+        TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        List<BatchItemResult> notApplied = results.stream()
+                .map(result -> new BatchItemResult(result.index(), result.op(), result.status(),
+                        BATCH_CREATE.equals(result.op()) ? null : result.id(), result.error(), null))
+                .toList();
+        return new BatchResult(false, notApplied);
+    }
+
+    /**
+     * Everything the batch touches, owned by the user, in one query; dirty checking then flushes the updates together.
+     */
+    private Map<Long, Trade> ownedTrades(String email, List<BatchOperation> operations) {
+        Set<Long> ids = new HashSet<>();
+        for (BatchOperation operation : operations) {
+            if (operation.id() != null && !BATCH_CREATE.equals(batchOp(operation))) {
+                ids.add(operation.id());
+            }
+        }
+        Map<Long, Trade> owned = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Trade t : trades.findAllByIdInAndUserEmail(ids, email)) {
+                owned.put(t.getId(), t);
+            }
+        }
+        return owned;
+    }
+
+    private static String batchOp(BatchOperation operation) {
+        return operation.op() != null ? operation.op().trim().toUpperCase() : "";
+    }
+
+    private Trade batchTarget(Map<Long, Trade> owned, Set<Long> deleted, Long id) {
+        if (id == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Trade id is required");
+        }
+        if (deleted.contains(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Trade not found");
+        }
+        // Archived trades are not in the ownership query; they are rehydrated one by one as before.
+        return owned.computeIfAbsent(id, this::findOwnedTrade);
+    }
+
+    private BatchItemResult updated(int index, String op, Trade t, long version, List<OutboxService.Event> events) {
+        t.setSyncVersion(version);
+        events.add(new OutboxService.Event(OutboxEvent.TRADE_UPDATED, t.getUser().getId(), t.getId(), null));
+        return new BatchItemResult(index, op, HttpStatus.OK.value(), t.getId(), null, t);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Trade> findAll() {
         return trades.findAll();
     }
 
-    private void validateTradeInput(String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice) {
+    // Package-private and static so TradeWritePathBenchmark can measure it in isolation.
+    static void validateTradeInput(String symbol, String direction, BigDecimal entryPrice, BigDecimal exitPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice) {
         if (symbol == null || symbol.trim().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Symbol is required");
         }
@@ -237,7 +508,7 @@ public class TradeServiceImpl implements TradeService {
         return upper;
     }
 
-    private ManualDetails normalizeManualDetails(String closeReasonOverride, String manualReason, String manualDescription) {
+    static ManualDetails normalizeManualDetails(String closeReasonOverride, String manualReason, String manualDescription) {
         if (closeReasonOverride == null || !closeReasonOverride.equalsIgnoreCase("MANUAL")) {
             return ManualDetails.empty();
         }
@@ -256,14 +527,21 @@ public class TradeServiceImpl implements TradeService {
         return new ManualDetails(normalizedManualReason, normalizedDescription);
     }
 
-    private String normalizeOptionalText(String value) {
+    private static String normalizeOptionalText(String value) {
         if (value == null) return null;
         String trimmed = value.trim();
         return trimmed.isEmpty() ? null : trimmed;
     }
 
+    /**
+     * Loads the trade for a write, rehydrating it first if it was archived.
+     */
     private Trade findOwnedTrade(Long id) {
-        return trades.findByIdAndUserEmail(id, currentEmail())
+        String email = currentEmail();
+        return trades.findByIdAndUserEmail(id, email)
+                .or(() -> archive.rehydrate(email, id))
+                // A concurrent request may have rehydrated it between the two lookups.
+                .or(() -> trades.findByIdAndUserEmail(id, email))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Trade not found"));
     }
 
@@ -271,7 +549,7 @@ public class TradeServiceImpl implements TradeService {
         return symbol.trim().toUpperCase();
     }
 
-    private void validateOrdering(String direction, BigDecimal entryPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice) {
+    private static void validateOrdering(String direction, BigDecimal entryPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice) {
         if (direction.equalsIgnoreCase("LONG")) {
             if (stopLossPrice.compareTo(entryPrice) >= 0 || takeProfitPrice.compareTo(entryPrice) <= 0) {
                 throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "For LONG, Stop Loss must be below Entry and Take Profit above Entry");
@@ -283,73 +561,7 @@ public class TradeServiceImpl implements TradeService {
         }
     }
 
-    private Metrics computeMetrics(String symbol, String direction, BigDecimal entryPrice, BigDecimal stopLossPrice, BigDecimal takeProfitPrice) {
-        if (stopLossPrice == null && takeProfitPrice == null) {
-            return Metrics.empty();
-        }
-
-        BigDecimal pipSize = pipSizeForSymbol(symbol);
-        BigDecimal slPips = null;
-        BigDecimal tpPips = null;
-        BigDecimal rrRatio = null;
-
-        if (stopLossPrice != null) {
-            slPips = entryPrice.subtract(stopLossPrice).abs()
-                    .divide(pipSize, 4, RoundingMode.HALF_UP)
-                    .setScale(1, RoundingMode.HALF_UP);
-        }
-
-        if (takeProfitPrice != null) {
-            tpPips = takeProfitPrice.subtract(entryPrice).abs()
-                    .divide(pipSize, 4, RoundingMode.HALF_UP)
-                    .setScale(1, RoundingMode.HALF_UP);
-        }
-
-        if (stopLossPrice != null && takeProfitPrice != null) {
-            BigDecimal risk;
-            BigDecimal reward;
-
-            if (direction.equalsIgnoreCase("LONG")) {
-                risk = entryPrice.subtract(stopLossPrice);
-                reward = takeProfitPrice.subtract(entryPrice);
-            } else {
-                risk = stopLossPrice.subtract(entryPrice);
-                reward = entryPrice.subtract(takeProfitPrice);
-            }
-
-            if (risk.signum() <= 0 || reward.signum() <= 0) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Risk and reward must be positive based on Entry/SL/TP ordering");
-            }
-
-            rrRatio = reward
-                    .divide(risk, 4, RoundingMode.HALF_UP)
-                    .setScale(2, RoundingMode.HALF_UP);
-        }
-
-        return new Metrics(slPips, tpPips, rrRatio, pipSize.setScale(4, RoundingMode.HALF_UP));
-    }
-
-    private BigDecimal pipSizeForSymbol(String symbol) {
-        if (symbol == null) {
-            return new BigDecimal("0.0001");
-        }
-        String normalized = symbol.trim().toUpperCase();
-        if ("XAUUSD".equals(normalized)) {
-            return new BigDecimal("0.01");
-        }
-        if (normalized.endsWith("JPY")) {
-            return new BigDecimal("0.01");
-        }
-        return new BigDecimal("0.0001");
-    }
-
-    private record Metrics(BigDecimal slPips, BigDecimal tpPips, BigDecimal rrRatio, BigDecimal pipSizeUsed) {
-        static Metrics empty() {
-            return new Metrics(null, null, null, null);
-        }
-    }
-
-    private record ManualDetails(String manualReason, String manualDescription) {
+    record ManualDetails(String manualReason, String manualDescription) {
         static ManualDetails empty() {
             return new ManualDetails(null, null);
         }
@@ -0,0 +1,20 @@
+package com.example.tradingjournal.storage;
+
+import java.util.UUID;
+
+/**
+ * Generates blob keys of the form {@code ab/cd/<uuid>.<ext>}.
+ * <p>
+ * The two-level hash prefix spreads files evenly over 65k directories on local disk and over key-prefix
+ * partitions on S3, instead of piling every file of a trade into one directory.
+ */
+public final class BlobKeys {
+
+    private BlobKeys() {
+    }
+
+    public static String newKey(String extension) {
+        String id = UUID.randomUUID().toString();
+        return id.substring(0, 2) + "/" + id.substring(2, 4) + "/" + id + "." + extension;
+    }
+}
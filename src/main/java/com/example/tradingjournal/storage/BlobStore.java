@@ -0,0 +1,25 @@
+package com.example.tradingjournal.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Storage for attachment bytes, addressed by an opaque key.
+ * <p>
+ * Keys are stored in {@code trade_attachments.relative_path}; new keys come from {@link BlobKeys#newKey(String)}.
+ * Implementations must stream content rather than buffer whole files in memory.
+ */
+public interface BlobStore {
+
+    void put(String key, InputStream content, long contentLength, String contentType) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * URL the browser can load the blob from. Relative URLs are served by this application,
+     * absolute ones point straight at the backing store.
+     */
+    String publicUrl(String key);
+}
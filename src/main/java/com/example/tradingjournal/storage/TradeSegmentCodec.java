@@ -0,0 +1,286 @@
+package com.example.tradingjournal.storage;
+
+import com.example.tradingjournal.model.Trade;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Columnar, gzip compressed encoding of a batch of trades for the cold archive.
+ * <p>
+ * After a short header every column is written in full before the next one: a null bitmap followed by fixed-width
+ * values. Decimals are unscaled longs at one scale per column, timestamps are epoch microseconds, low cardinality
+ * strings such as the symbol are dictionary codes and free text is length-prefixed UTF-8. Similar values sit next
+ * to each other, which is what lets gzip shrink a segment far below the row-wise table size.
+ */
+public final class TradeSegmentCodec {
+
+    public static final String CONTENT_TYPE = "application/x-trade-segment";
+
+    private static final int MAGIC = 0x544A5347; // "TJSG"
+    private static final int VERSION = 1;
+    private static final int MICROS_PER_SECOND = 1_000_000;
+
+    private static final List<Column<BigDecimal>> DECIMALS = List.of(
+            new Column<>(Trade::getEntryPrice, Trade::setEntryPrice),
+            new Column<>(Trade::getExitPrice, Trade::setExitPrice),
+            new Column<>(Trade::getStopLossPrice, Trade::setStopLossPrice),
+            new Column<>(Trade::getTakeProfitPrice, Trade::setTakeProfitPrice),
+            new Column<>(Trade::getCommissionMoney, Trade::setCommissionMoney),
+            new Column<>(Trade::getSwapMoney, Trade::setSwapMoney),
+            new Column<>(Trade::getNetPnlMoney, Trade::setNetPnlMoney),
+            new Column<>(Trade::getSlPips, Trade::setSlPips),
+            new Column<>(Trade::getTpPips, Trade::setTpPips),
+            new Column<>(Trade::getRrRatio, Trade::setRrRatio),
+            new Column<>(Trade::getPipSizeUsed, Trade::setPipSizeUsed)
+    );
+    private static final List<Column<Instant>> TIMESTAMPS = List.of(
+            new Column<>(Trade::getCreatedAt, Trade::setCreatedAt),
+            new Column<>(Trade::getClosedAt, Trade::setClosedAt),
+            new Column<>(Trade::getReviewUpdatedAt, Trade::setReviewUpdatedAt),
+            new Column<>(Trade::getUpdatedAt, Trade::setUpdatedAt)
+    );
+    private static final List<Column<String>> DICTIONARY_STRINGS = List.of(
+            new Column<>(Trade::getSymbol, Trade::setSymbol),
+            new Column<>(Trade::getDirection, Trade::setDirection),
+            new Column<>(Trade::getCloseReasonOverride, Trade::setCloseReasonOverride),
+            new Column<>(Trade::getManualReason, Trade::setManualReason),
+            new Column<>(Trade::getFollowedPlan, Trade::setFollowedPlan)
+    );
+    private static final List<Column<String>> TEXTS = List.of(
+            new Column<>(Trade::getManualDescription, Trade::setManualDescription),
+            new Column<>(Trade::getMistakesText, Trade::setMistakesText),
+            new Column<>(Trade::getImprovementText, Trade::setImprovementText)
+    );
+
+    private TradeSegmentCodec() {
+    }
+
+    /**
+     * Encodes the trades in the given order. The user association is not stored; segments are per user.
+     *
+     * @throws IllegalArgumentException if a decimal does not fit a long at its column's scale
+     */
+    public static byte[] encode(List<Trade> trades) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new GZIPOutputStream(bytes, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(trades.size());
+
+            for (Trade trade : trades) {
+                out.writeLong(trade.getId());
+            }
+            for (Trade trade : trades) {
+                out.writeLong(trade.getSyncVersion());
+            }
+            for (Column<BigDecimal> column : DECIMALS) {
+                writeDecimals(out, trades, column);
+            }
+            for (Column<Instant> column : TIMESTAMPS) {
+                writeTimestamps(out, trades, column);
+            }
+            for (Column<String> column : DICTIONARY_STRINGS) {
+                writeDictionary(out, trades, column);
+            }
+            for (Column<String> column : TEXTS) {
+                writeText(out, trades, column);
+            }
+            writeNulls(out, trades, Trade::getConfidence);
+            for (Trade trade : trades) {
+                out.writeInt(trade.getConfidence() == null ? 0 : trade.getConfidence());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a segment into detached trades without a user.
+     */
+    public static List<Trade> decode(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new GZIPInputStream(in, 64 * 1024));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a trade segment");
+        }
+        int version = data.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported trade segment version " + version);
+        }
+        int count = data.readInt();
+        List<Trade> trades = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Trade trade = new Trade();
+            trade.setId(data.readLong());
+            trades.add(trade);
+        }
+        for (Trade trade : trades) {
+            trade.setSyncVersion(data.readLong());
+        }
+        for (Column<BigDecimal> column : DECIMALS) {
+            readDecimals(data, trades, column);
+        }
+        for (Column<Instant> column : TIMESTAMPS) {
+            readTimestamps(data, trades, column);
+        }
+        for (Column<String> column : DICTIONARY_STRINGS) {
+            readDictionary(data, trades, column);
+        }
+        for (Column<String> column : TEXTS) {
+            readText(data, trades, column);
+        }
+        boolean[] nulls = readNulls(data, count);
+        for (int i = 0; i < count; i++) {
+            int confidence = data.readInt();
+            trades.get(i).setConfidence(nulls[i] ? null : confidence);
+        }
+        return trades;
+    }
+
+    private static void writeDecimals(DataOutputStream out, List<Trade> trades, Column<BigDecimal> column) throws IOException {
+        writeNulls(out, trades, column.getter());
+        int scale = 0;
+        for (Trade trade : trades) {
+            BigDecimal value = column.getter().apply(trade);
+            if (value != null) {
+                scale = Math.max(scale, value.scale());
+            }
+        }
+        out.writeByte(scale);
+        for (Trade trade : trades) {
+            BigDecimal value = column.getter().apply(trade);
+            if (value == null) {
+                out.writeLong(0);
+                continue;
+            }
+            try {
+                out.writeLong(value.setScale(scale).unscaledValue().longValueExact());
+            } catch (ArithmeticException ex) {
+                throw new IllegalArgumentException("Trade " + trade.getId() + " has a value out of archive range: " + value, ex);
+            }
+        }
+    }
+
+    private static void readDecimals(DataInputStream in, List<Trade> trades, Column<BigDecimal> column) throws IOException {
+        boolean[] nulls = readNulls(in, trades.size());
+        int scale = in.readByte();
+        for (int i = 0; i < trades.size(); i++) {
+            long unscaled = in.readLong();
+            if (!nulls[i]) {
+                column.setter().accept(trades.get(i), new BigDecimal(BigInteger.valueOf(unscaled), scale));
+            }
+        }
+    }
+
+    private static void writeTimestamps(DataOutputStream out, List<Trade> trades, Column<Instant> column) throws IOException {
+        writeNulls(out, trades, column.getter());
+        for (Trade trade : trades) {
+            Instant value = column.getter().apply(trade);
+            out.writeLong(value == null ? 0 : Math.addExact(
+                    Math.multiplyExact(value.getEpochSecond(), MICROS_PER_SECOND), value.getNano() / 1_000));
+        }
+    }
+
+    private static void readTimestamps(DataInputStream in, List<Trade> trades, Column<Instant> column) throws IOException {
+        boolean[] nulls = readNulls(in, trades.size());
+        for (int i = 0; i < trades.size(); i++) {
+            long micros = in.readLong();
+            if (!nulls[i]) {
+                column.setter().accept(trades.get(i), Instant.ofEpochSecond(
+                        Math.floorDiv(micros, MICROS_PER_SECOND), Math.floorMod(micros, MICROS_PER_SECOND) * 1_000L));
+            }
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, List<Trade> trades, Column<String> column) throws IOException {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        for (Trade trade : trades) {
+            String value = column.getter().apply(trade);
+            if (value != null) {
+                codes.putIfAbsent(value, codes.size());
+            }
+        }
+        out.writeInt(codes.size());
+        for (String value : codes.keySet()) {
+            out.writeUTF(value);
+        }
+        for (Trade trade : trades) {
+            String value = column.getter().apply(trade);
+            out.writeInt(value == null ? -1 : codes.get(value));
+        }
+    }
+
+    private static void readDictionary(DataInputStream in, List<Trade> trades, Column<String> column) throws IOException {
+        String[] dictionary = new String[in.readInt()];
+        for (int i = 0; i < dictionary.length; i++) {
+            dictionary[i] = in.readUTF();
+        }
+        for (Trade trade : trades) {
+            int code = in.readInt();
+            if (code >= 0) {
+                column.setter().accept(trade, dictionary[code]);
+            }
+        }
+    }
+
+    private static void writeText(DataOutputStream out, List<Trade> trades, Column<String> column) throws IOException {
+        for (Trade trade : trades) {
+            String value = column.getter().apply(trade);
+            if (value == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    private static void readText(DataInputStream in, List<Trade> trades, Column<String> column) throws IOException {
+        for (Trade trade : trades) {
+            int length = in.readInt();
+            if (length >= 0) {
+                byte[] utf8 = new byte[length];
+                in.readFully(utf8);
+                column.setter().accept(trade, new String(utf8, StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static void writeNulls(DataOutputStream out, List<Trade> trades, Function<Trade, ?> getter) throws IOException {
+        byte[] bitmap = new byte[(trades.size() + 7) / 8];
+        for (int i = 0; i < trades.size(); i++) {
+            if (getter.apply(trades.get(i)) == null) {
+                bitmap[i >>> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        out.write(bitmap);
+    }
+
+    private static boolean[] readNulls(DataInputStream in, int count) throws IOException {
+        byte[] bitmap = new byte[(count + 7) / 8];
+        in.readFully(bitmap);
+        boolean[] nulls = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            nulls[i] = (bitmap[i >>> 3] & (1 << (i & 7))) != 0;
+        }
+        return nulls;
+    }
+
+    private record Column<T>(Function<Trade, T> getter, BiConsumer<Trade, T> setter) {
+    }
+}
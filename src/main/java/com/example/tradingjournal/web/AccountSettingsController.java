@@ -2,13 +2,16 @@ package com.example.tradingjournal.web;
 
 import com.example.tradingjournal.model.AccountSettings;
 import com.example.tradingjournal.service.AccountSettingsService;
+import com.example.tradingjournal.service.DataVersionService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
@@ -19,9 +22,11 @@ import java.time.Instant;
 public class AccountSettingsController {
 
     private final AccountSettingsService service;
+    private final DataVersionService dataVersions;
 
-    public AccountSettingsController(AccountSettingsService service) {
+    public AccountSettingsController(AccountSettingsService service, DataVersionService dataVersions) {
         this.service = service;
+        this.dataVersions = dataVersions;
     }
 
     public record AccountSettingsRequest(
@@ -51,10 +56,11 @@ public class AccountSettingsController {
     }
 
     @GetMapping
-    public AccountSettingsResponse get() {
-        return service.getCurrentUserSettings()
-                .map(AccountSettingsResponse::from)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account settings not found"));
+    public ResponseEntity<AccountSettingsResponse> get(WebRequest request) {
+        return ConditionalGet.respond(request, dataVersions.etag("account-settings"),
+                () -> service.getCurrentUserSettings()
+                        .map(AccountSettingsResponse::from)
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Account settings not found")));
     }
 
     @PutMapping
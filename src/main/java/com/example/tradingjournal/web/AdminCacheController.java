@@ -0,0 +1,82 @@
+package com.example.tradingjournal.web;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+@RestController
+@RequestMapping("/api/admin/cache")
+public class AdminCacheController {
+
+    private final Statistics statistics;
+
+    public AdminCacheController(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts, double hitRate, long entriesInMemory) {
+        static RegionStats from(String region, CacheRegionStatistics stats) {
+            return new RegionStats(
+                    region,
+                    stats.getHitCount(),
+                    stats.getMissCount(),
+                    stats.getPutCount(),
+                    ratio(stats.getHitCount(), stats.getMissCount()),
+                    stats.getElementCountInMemory()
+            );
+        }
+    }
+
+    public record CacheStatsResponse(
+            boolean statisticsEnabled,
+            long secondLevelHits,
+            long secondLevelMisses,
+            double secondLevelHitRate,
+            long naturalIdHits,
+            long naturalIdMisses,
+            double naturalIdHitRate,
+            long queryCacheHits,
+            long queryCacheMisses,
+            double queryCacheHitRate,
+            List<RegionStats> regions
+    ) {
+    }
+
+    @GetMapping
+    public CacheStatsResponse stats() {
+        List<RegionStats> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region);
+                    return stats == null ? null : RegionStats.from(region, stats);
+                })
+                .filter(Objects::nonNull)
+                .toList();
+        return new CacheStatsResponse(
+                statistics.isStatisticsEnabled(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(),
+                ratio(statistics.getNaturalIdCacheHitCount(), statistics.getNaturalIdCacheMissCount()),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                ratio(statistics.getQueryCacheHitCount(), statistics.getQueryCacheMissCount()),
+                regions
+        );
+    }
+
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.MetricRecomputeJob;
+import com.example.tradingjournal.service.MetricRecomputeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+
+@RestController
+@RequestMapping("/api/admin/trades/metrics-recompute")
+public class AdminMetricRecomputeController {
+
+    private final MetricRecomputeService service;
+
+    public AdminMetricRecomputeController(MetricRecomputeService service) {
+        this.service = service;
+    }
+
+    public record RecomputeJobResponse(
+            Long id,
+            String status,
+            boolean active,
+            long maxTradeId,
+            int chunkSize,
+            int totalChunks,
+            int completedChunks,
+            long scannedTrades,
+            long updatedTrades,
+            long failedTrades,
+            Instant startedAt,
+            Instant finishedAt,
+            long elapsedSeconds,
+            double tradesPerSecond
+    ) {
+        static RecomputeJobResponse from(MetricRecomputeJob job, boolean active) {
+            Instant end = job.getFinishedAt() != null ? job.getFinishedAt() : Instant.now();
+            long elapsedMs = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+            return new RecomputeJobResponse(
+                    job.getId(),
+                    job.getStatus(),
+                    active,
+                    job.getMaxTradeId(),
+                    job.getChunkSize(),
+                    job.getTotalChunks(),
+                    job.getCompletedChunks(),
+                    job.getScannedTrades(),
+                    job.getUpdatedTrades(),
+                    job.getFailedTrades(),
+                    job.getStartedAt(),
+                    job.getFinishedAt(),
+                    elapsedMs / 1000,
+                    job.getScannedTrades() * 1000.0 / elapsedMs
+            );
+        }
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RecomputeJobResponse start() {
+        MetricRecomputeJob job = service.start();
+        return RecomputeJobResponse.from(job, service.isActive(job.getId()));
+    }
+
+    @GetMapping
+    public RecomputeJobResponse latest() {
+        return service.latest()
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "No recompute job found"));
+    }
+
+    @GetMapping("/{id}")
+    public RecomputeJobResponse get(@PathVariable Long id) {
+        return service.find(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Recompute job not found"));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public RecomputeJobResponse cancel(@PathVariable Long id) {
+        return toResponse(service.cancel(id));
+    }
+
+    @PostMapping("/{id}/resume")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public RecomputeJobResponse resume(@PathVariable Long id) {
+        return toResponse(service.resume(id));
+    }
+
+    private RecomputeJobResponse toResponse(MetricRecomputeJob job) {
+        return RecomputeJobResponse.from(job, service.isActive(job.getId()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.UserStorageUsage;
+import com.example.tradingjournal.service.StorageUsageService;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/storage")
+public class AdminStorageController {
+
+    private final StorageUsageService service;
+
+    public AdminStorageController(StorageUsageService service) {
+        this.service = service;
+    }
+
+    public record StorageUsageResponse(
+            Long userId,
+            long bytesUsed,
+            long fileCount,
+            Long quotaBytes,
+            Instant updatedAt
+    ) {
+        static StorageUsageResponse from(UserStorageUsage usage) {
+            return new StorageUsageResponse(
+                    usage.getUserId(),
+                    usage.getBytesUsed(),
+                    usage.getFileCount(),
+                    usage.getQuotaBytes(),
+                    usage.getUpdatedAt()
+            );
+        }
+    }
+
+    public record QuotaUpdateRequest(Long quotaBytes) {
+    }
+
+    @GetMapping("/users")
+    public List<StorageUsageResponse> heaviestUsers(@RequestParam(defaultValue = "50") int limit) {
+        return service.heaviestUsers(limit).stream().map(StorageUsageResponse::from).toList();
+    }
+
+    @GetMapping("/users/{userId}")
+    public StorageUsageService.StorageUsage usage(@PathVariable Long userId) {
+        return service.usageFor(userId);
+    }
+
+    @PutMapping("/users/{userId}/quota")
+    public StorageUsageResponse updateQuota(@PathVariable Long userId, @RequestBody QuotaUpdateRequest request) {
+        return StorageUsageResponse.from(service.updateQuota(userId, request == null ? null : request.quotaBytes()));
+    }
+}
@@ -37,11 +37,10 @@ public class AuthController {
 
     @PostMapping("/register")
     public void register(@RequestBody RegisterRequest req) {
-        if (users.existsByEmail(req.email())) {
+        // Single insert-or-nothing, so two concurrent registrations cannot both pass a separate exists check.
+        if (!users.insertIfAbsent(req.email().trim().toLowerCase(), encoder.encode(req.password()))) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email already in use");
         }
-        User u = new User(req.email().trim().toLowerCase(), encoder.encode(req.password()));
-        users.save(u);
     }
 
     @PostMapping("/login")
@@ -2,26 +2,30 @@ package com.example.tradingjournal.web;
 
 import com.example.tradingjournal.model.Cashflow;
 import com.example.tradingjournal.service.CashflowService;
+import com.example.tradingjournal.service.DataVersionService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import jakarta.validation.constraints.Pattern;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/cashflows")
 public class CashflowController {
 
     private final CashflowService service;
+    private final DataVersionService dataVersions;
 
-    public CashflowController(CashflowService service) {
+    public CashflowController(CashflowService service, DataVersionService dataVersions) {
         this.service = service;
+        this.dataVersions = dataVersions;
     }
 
     public record CashflowRequest(
@@ -37,7 +41,8 @@ public class CashflowController {
             BigDecimal amountMoney,
             Instant occurredAt,
             String note,
-            Instant createdAt
+            Instant createdAt,
+            Instant updatedAt
     ) {
         static CashflowResponse from(Cashflow cashflow) {
             return new CashflowResponse(
@@ -46,14 +51,20 @@ public class CashflowController {
                     cashflow.getAmountMoney(),
                     cashflow.getOccurredAt(),
                     cashflow.getNote(),
-                    cashflow.getCreatedAt()
+                    cashflow.getCreatedAt(),
+                    cashflow.getUpdatedAt()
             );
         }
     }
 
+    /**
+     * Negotiates JSON, Smile or CBOR and supports {@code shape=columns} like the trade list.
+     */
     @GetMapping
-    public List<CashflowResponse> all() {
-        return service.myCashflows().stream().map(CashflowResponse::from).toList();
+    public ResponseEntity<?> all(@RequestParam(required = false) String shape, WebRequest request) {
+        return ConditionalGet.respond(request, dataVersions.etag("cashflows"),
+                () -> ColumnarResponse.shape(shape, CashflowResponse.class,
+                        service.myCashflows().stream().map(CashflowResponse::from).toList()));
     }
 
     @PostMapping
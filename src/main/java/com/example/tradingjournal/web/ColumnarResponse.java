@@ -0,0 +1,92 @@
+package com.example.tradingjournal.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Column-per-field JSON shape for list endpoints ({@code ?shape=columns}): one array per record component, in
+ * declaration order, all {@code count} long. Field names appear once instead of once per row.
+ */
+public record ColumnarResponse(int count, Map<String, List<Object>> columns) {
+
+    static final String ROWS = "rows";
+    static final String COLUMNS = "columns";
+
+    private static final ClassValue<Method[]> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Method[] computeValue(Class<?> type) {
+            RecordComponent[] components = type.getRecordComponents();
+            Method[] accessors = new Method[components.length];
+            for (int i = 0; i < components.length; i++) {
+                accessors[i] = components[i].getAccessor();
+                accessors[i].setAccessible(true);
+            }
+            return accessors;
+        }
+    };
+
+    /**
+     * The rows as-is for {@code shape=rows} (the default), or transposed for {@code shape=columns}.
+     */
+    static <R extends Record> Object shape(String shape, Class<R> type, List<R> rows) {
+        if (shape == null || ROWS.equalsIgnoreCase(shape)) {
+            return rows;
+        }
+        if (COLUMNS.equalsIgnoreCase(shape)) {
+            return of(type, rows);
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported shape: " + shape);
+    }
+
+    /**
+     * {@link #shape(String, Class, List)} for sparse rows that all hold the given fields in order.
+     */
+    static Object shape(String shape, List<String> fields, List<Map<String, Object>> rows) {
+        if (shape == null || ROWS.equalsIgnoreCase(shape)) {
+            return rows;
+        }
+        if (!COLUMNS.equalsIgnoreCase(shape)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported shape: " + shape);
+        }
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        for (String field : fields) {
+            List<Object> values = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                values.add(row.get(field));
+            }
+            columns.put(field, values);
+        }
+        return new ColumnarResponse(rows.size(), columns);
+    }
+
+    static <R extends Record> ColumnarResponse of(Class<R> type, List<R> rows) {
+        Method[] accessors = ACCESSORS.get(type);
+        RecordComponent[] components = type.getRecordComponents();
+        List<List<Object>> values = new ArrayList<>(accessors.length);
+        for (int i = 0; i < accessors.length; i++) {
+            values.add(new ArrayList<>(rows.size()));
+        }
+        try {
+            for (R row : rows) {
+                for (int i = 0; i < accessors.length; i++) {
+                    values.get(i).add(accessors[i].invoke(row));
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new IllegalStateException("Cannot read " + type.getSimpleName(), ex);
+        }
+        Map<String, List<Object>> columns = new LinkedHashMap<>();
+        for (int i = 0; i < accessors.length; i++) {
+            columns.put(components[i].getName(), values.get(i));
+        }
+        return new ColumnarResponse(rows.size(), columns);
+    }
+}
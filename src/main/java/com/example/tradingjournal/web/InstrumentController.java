@@ -0,0 +1,60 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.service.InstrumentRegistry;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/api/instruments")
+public class InstrumentController {
+
+    private final List<InstrumentResponse> body;
+
+    public InstrumentController(InstrumentRegistry instruments) {
+        // The registry never changes while the server runs, so the response is built once.
+        this.body = instruments.all().stream().map(InstrumentResponse::from).toList();
+    }
+
+    public record InstrumentResponse(
+            int id,
+            String value,
+            String label,
+            String type,
+            String base,
+            String quote,
+            BigDecimal tickSize,
+            long unitsPerLot,
+            String displayUnit
+    ) {
+        static InstrumentResponse from(InstrumentRegistry.Instrument instrument) {
+            return new InstrumentResponse(
+                    instrument.id(),
+                    instrument.symbol(),
+                    instrument.label(),
+                    instrument.type(),
+                    instrument.base(),
+                    instrument.quote(),
+                    instrument.pipSize(),
+                    instrument.unitsPerLot(),
+                    instrument.displayUnit()
+            );
+        }
+    }
+
+    /**
+     * The supported instruments in the same shape as the UI's {@code constants/instruments.js}.
+     */
+    @GetMapping
+    public ResponseEntity<List<InstrumentResponse>> list() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePublic())
+                .body(body);
+    }
+}
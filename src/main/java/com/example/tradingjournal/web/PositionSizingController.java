@@ -0,0 +1,97 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.service.PositionSizingService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/position-sizing")
+public class PositionSizingController {
+
+    private final PositionSizingService service;
+
+    public PositionSizingController(PositionSizingService service) {
+        this.service = service;
+    }
+
+    public record SetupRequest(
+            @Size(max = 20) String symbol,
+            Double entryPrice,
+            Double stopLossPrice,
+            Double riskPercent,
+            Double contractSize,
+            Double conversionRate
+    ) {
+        PositionSizingService.Setup toSetup() {
+            return new PositionSizingService.Setup(symbol, entryPrice, stopLossPrice, riskPercent, contractSize, conversionRate);
+        }
+    }
+
+    public record BatchRequest(@NotNull @Size(max = 1000) List<@Valid SetupRequest> setups) {
+    }
+
+    public record SizingResponse(
+            String symbol,
+            boolean isValid,
+            boolean baseValid,
+            boolean conversionRateValid,
+            boolean needsConversion,
+            String baseCurrency,
+            String quoteCurrency,
+            Double conversionRate,
+            Double pipSize,
+            Double slDistance,
+            String direction,
+            Double slPips,
+            Double riskAmount,
+            Double units,
+            Double lots,
+            Double target2R,
+            Double target3R
+    ) {
+        static SizingResponse from(PositionSizingService.Sizing sizing) {
+            return new SizingResponse(
+                    sizing.symbol(),
+                    sizing.valid(),
+                    sizing.baseValid(),
+                    sizing.conversionRateValid(),
+                    sizing.needsConversion(),
+                    sizing.baseCurrency(),
+                    sizing.quoteCurrency(),
+                    orNull(sizing.conversionRate()),
+                    orNull(sizing.pipSize()),
+                    orNull(sizing.slDistance()),
+                    sizing.direction(),
+                    orNull(sizing.slPips()),
+                    orNull(sizing.riskAmount()),
+                    orNull(sizing.units()),
+                    orNull(sizing.lots()),
+                    orNull(sizing.target2R()),
+                    orNull(sizing.target3R())
+            );
+        }
+
+        // JSON has no NaN or Infinity; values the UI calculator reports as null stay null here.
+        private static Double orNull(double value) {
+            return Double.isFinite(value) ? value : null;
+        }
+    }
+
+    /**
+     * Sizes up to 1000 setups against the current account settings, in request order.
+     */
+    @PostMapping("/batch")
+    public List<SizingResponse> batch(@Valid @RequestBody BatchRequest request) {
+        return service.size(request.setups().stream().map(SetupRequest::toSetup).toList())
+                .stream()
+                .map(SizingResponse::from)
+                .toList();
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.tradingjournal.web;
 
 import com.example.tradingjournal.service.FinnhubQuoteService;
+import com.example.tradingjournal.service.InstrumentRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -8,42 +10,22 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Set;
-
 @RestController
 @RequestMapping("/api/quote")
 public class QuoteController {
 
-    private static final String API_KEY_ENV = "FINNHUB_API_KEY";
-    private static final Set<String> SUPPORTED_PAIRS = Set.of(
-            "GBPJPY",
-            "EURAUD",
-            "AUDCAD",
-            "EURUSD",
-            "GBPCAD",
-            "USDJPY",
-            "NZDCAD",
-            "NZDJPY",
-            "EURJPY",
-            "EURGBP",
-            "USDCHF",
-            "CADJPY",
-            "AUDUSD",
-            "GBPUSD",
-            "EURCHF",
-            "EURCAD",
-            "NZDUSD",
-            "AUDCHF",
-            "GBPNZD",
-            "AUDJPY",
-            "EURNZD",
-            "XAUUSD"
-    );
-
     private final FinnhubQuoteService finnhubQuoteService;
-
-    public QuoteController(FinnhubQuoteService finnhubQuoteService) {
+    private final InstrumentRegistry instruments;
+    private final String apiKey;
+
+    public QuoteController(
+            FinnhubQuoteService finnhubQuoteService,
+            InstrumentRegistry instruments,
+            @Value("${FINNHUB_API_KEY:}") String apiKey
+    ) {
         this.finnhubQuoteService = finnhubQuoteService;
+        this.instruments = instruments;
+        this.apiKey = apiKey;
     }
 
     public record QuoteResponse(
@@ -57,27 +39,21 @@ public class QuoteController {
 
     @GetMapping("/test")
     public QuoteResponse testQuote(@RequestParam String pair) {
-        String normalized = pair == null ? "" : pair.trim().toUpperCase();
-        if (!SUPPORTED_PAIRS.contains(normalized)) {
+        InstrumentRegistry.Instrument instrument = instruments.find(pair);
+        if (instrument == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported pair: " + pair);
         }
-        if (normalized.length() != 6) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid pair format: " + pair);
-        }
 
-        String apiKey = System.getenv(API_KEY_ENV);
-        if (apiKey == null || apiKey.isBlank()) {
+        if (apiKey.isBlank()) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Finnhub API key missing");
         }
 
-        String base = normalized.substring(0, 3);
-        String quote = normalized.substring(3, 6);
-        FinnhubQuoteService.QuoteResult result = finnhubQuoteService.fetchQuote(apiKey, base, quote);
+        FinnhubQuoteService.QuoteResult result = finnhubQuoteService.fetchQuote(apiKey, instrument.base(), instrument.quote());
 
         return new QuoteResponse(
-                normalized,
-                base,
-                quote,
+                instrument.symbol(),
+                instrument.base(),
+                instrument.quote(),
                 result.price(),
                 "finnhub",
                 result.timestamp()
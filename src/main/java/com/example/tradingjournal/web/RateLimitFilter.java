@@ -0,0 +1,153 @@
+package com.example.tradingjournal.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Token bucket rate limits for the API, per user and endpoint class: reads, writes and Finnhub quotes.
+ * <p>
+ * Runs after JWT authentication, so buckets are keyed by the authenticated user; anonymous calls are keyed by client
+ * address. Buckets are spread over independent stripes and each eviction run sweeps only one of them, dropping
+ * buckets that have been full for {@code app.rate-limit.idle-eviction}. Over the limit the request gets 429 with
+ * {@code Retry-After}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    enum EndpointClass {
+        READ, WRITE, QUOTE;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private record Limit(int capacity, double perSecond) {
+    }
+
+    private final boolean enabled;
+    private final long idleNanos;
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, Counter> rejected = new EnumMap<>(EndpointClass.class);
+    private final ConcurrentHashMap<String, TokenBucket>[] stripes;
+    private final AtomicInteger nextSweep = new AtomicInteger();
+
+    @SuppressWarnings("unchecked")
+    public RateLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.enabled:true}") boolean enabled,
+            @Value("${app.rate-limit.read.capacity:120}") int readCapacity,
+            @Value("${app.rate-limit.read.per-second:30}") double readPerSecond,
+            @Value("${app.rate-limit.write.capacity:60}") int writeCapacity,
+            @Value("${app.rate-limit.write.per-second:10}") double writePerSecond,
+            @Value("${app.rate-limit.quote.capacity:20}") int quoteCapacity,
+            @Value("${app.rate-limit.quote.per-second:2}") double quotePerSecond,
+            @Value("${app.rate-limit.stripes:16}") int stripeCount,
+            @Value("${app.rate-limit.idle-eviction:PT10M}") Duration idleEviction
+    ) {
+        this.enabled = enabled;
+        this.idleNanos = idleEviction.toNanos();
+        limits.put(EndpointClass.READ, new Limit(readCapacity, readPerSecond));
+        limits.put(EndpointClass.WRITE, new Limit(writeCapacity, writePerSecond));
+        limits.put(EndpointClass.QUOTE, new Limit(quoteCapacity, quotePerSecond));
+        this.stripes = new ConcurrentHashMap[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            rejected.put(endpointClass, Counter.builder("ratelimit.rejected")
+                    .description("Requests refused with 429")
+                    .tag("class", endpointClass.tag)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("ratelimit.buckets", this, RateLimitFilter::bucketCount)
+                .description("Live rate limit buckets")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled
+                || "OPTIONS".equalsIgnoreCase(request.getMethod())
+                || !request.getServletPath().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        EndpointClass endpointClass = classify(req);
+        String key = endpointClass.tag + ':' + principal(req);
+        long now = System.nanoTime();
+
+        long waitNanos = bucket(key, endpointClass, now).tryConsume(now);
+        if (waitNanos > 0) {
+            rejected.get(endpointClass).increment();
+            long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+            res.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+            res.sendError(429, "Too many requests, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+        chain.doFilter(req, res);
+    }
+
+    /**
+     * Drops idle buckets from the next stripe. A dropped bucket was already full, so the user loses nothing.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-delay-ms:10000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[Math.floorMod(nextSweep.getAndIncrement(), stripes.length)];
+        stripe.values().removeIf(bucket -> bucket.idleSince(now, idleNanos));
+    }
+
+    int bucketCount() {
+        int count = 0;
+        for (ConcurrentHashMap<String, TokenBucket> stripe : stripes) {
+            count += stripe.size();
+        }
+        return count;
+    }
+
+    private TokenBucket bucket(String key, EndpointClass endpointClass, long now) {
+        ConcurrentHashMap<String, TokenBucket> stripe = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        TokenBucket bucket = stripe.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        Limit limit = limits.get(endpointClass);
+        return stripe.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.perSecond(), now));
+    }
+
+    private static EndpointClass classify(HttpServletRequest req) {
+        if (req.getServletPath().startsWith("/api/quote/")) {
+            return EndpointClass.QUOTE;
+        }
+        String method = req.getMethod();
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) ? EndpointClass.READ : EndpointClass.WRITE;
+    }
+
+    private static String principal(HttpServletRequest req) {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + req.getRemoteAddr();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.service.SyncService;
+import com.example.tradingjournal.web.CashflowController.CashflowResponse;
+import com.example.tradingjournal.web.TradeController.TradeResponse;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService service;
+
+    public SyncController(SyncService service) {
+        this.service = service;
+    }
+
+    public record ChangeResponse(
+            long version,
+            String type,
+            String op,
+            Long id,
+            TradeResponse trade,
+            CashflowResponse cashflow
+    ) {
+        static ChangeResponse from(SyncService.Change change) {
+            return new ChangeResponse(
+                    change.version(),
+                    change.type(),
+                    change.deleted() ? "DELETE" : "UPSERT",
+                    change.id(),
+                    change.trade() == null ? null : TradeResponse.from(change.trade()),
+                    change.cashflow() == null ? null : CashflowResponse.from(change.cashflow())
+            );
+        }
+    }
+
+    public record SyncResponse(long cursor, boolean hasMore, List<ChangeResponse> changes) {
+    }
+
+    public record CursorResponse(long cursor) {
+    }
+
+    @GetMapping("/cursor")
+    public CursorResponse cursor() {
+        return new CursorResponse(service.currentCursor());
+    }
+
+    /**
+     * Trades and cashflows changed or deleted after {@code since}, oldest first. Start with {@code since=0} and pass
+     * the returned cursor on the next call; keep calling while {@code hasMore} is true. Every row has a version above
+     * 0, including rows written before sync existed (backfilled by V22).
+     */
+    @GetMapping
+    public SyncResponse changes(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        SyncService.Changes changes = service.changesSince(since, limit);
+        return new SyncResponse(
+                changes.cursor(),
+                changes.hasMore(),
+                changes.changes().stream().map(ChangeResponse::from).toList()
+        );
+    }
+}
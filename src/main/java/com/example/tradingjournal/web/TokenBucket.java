@@ -0,0 +1,48 @@
+package com.example.tradingjournal.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket held in a single {@link AtomicLong}, so taking a token is one CAS and never blocks.
+ * <p>
+ * Instead of a token count and a refill timestamp the bucket stores the time at which it would be full again
+ * (the GCRA form of a token bucket). Each token pushes that time one refill interval further out; a request is
+ * refused when that would put it more than {@code capacity} intervals ahead of now.
+ */
+final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(int capacity, double tokensPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / tokensPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 if it was available, otherwise how many nanoseconds until one will be.
+     */
+    long tryConsume(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * True once the bucket has been full for at least {@code idleNanos}; it then behaves exactly like a new one and
+     * can be dropped.
+     */
+    boolean idleSince(long nowNanos, long idleNanos) {
+        return nowNanos - fullAt.get() >= idleNanos;
+    }
+}
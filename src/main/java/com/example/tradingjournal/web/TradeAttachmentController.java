@@ -32,7 +32,7 @@ public class TradeAttachmentController {
             String timeframe,
             Instant createdAt
     ) {
-        static AttachmentResponse from(TradeAttachment attachment) {
+        static AttachmentResponse from(TradeAttachment attachment, String imageUrl) {
             return new AttachmentResponse(
                     attachment.getId(),
                     attachment.getTrade().getId(),
@@ -40,7 +40,7 @@ public class TradeAttachmentController {
                     attachment.getOriginalFilename(),
                     attachment.getContentType(),
                     attachment.getFileSize(),
-                    "/uploads/" + attachment.getRelativePath(),
+                    imageUrl,
                     attachment.getTimeframe(),
                     attachment.getCreatedAt()
             );
@@ -50,6 +50,13 @@ public class TradeAttachmentController {
     public record AttachmentUpdateRequest(String timeframe) {
     }
 
+    public record TradeAttachmentsResponse(
+            Long tradeId,
+            int count,
+            List<AttachmentResponse> attachments
+    ) {
+    }
+
     @PostMapping(value = "/api/trades/{tradeId}/attachments", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public AttachmentResponse upload(
             @PathVariable Long tradeId,
@@ -58,13 +65,24 @@ public class TradeAttachmentController {
     ) {
         TradeAttachmentSection parsed = parseSection(section);
         TradeAttachment attachment = service.create(tradeId, parsed, file);
-        return AttachmentResponse.from(attachment);
+        return toResponse(attachment);
     }
 
     @GetMapping("/api/trades/{tradeId}/attachments")
     public List<AttachmentResponse> list(@PathVariable Long tradeId) {
         return service.listForTrade(tradeId).stream()
-                .map(AttachmentResponse::from)
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @GetMapping("/api/attachments")
+    public List<TradeAttachmentsResponse> listForTrades(@RequestParam List<Long> tradeIds) {
+        return service.listForTrades(tradeIds).entrySet().stream()
+                .map(entry -> new TradeAttachmentsResponse(
+                        entry.getKey(),
+                        entry.getValue().size(),
+                        entry.getValue().stream().map(this::toResponse).toList()
+                ))
                 .toList();
     }
 
@@ -80,7 +98,11 @@ public class TradeAttachmentController {
     ) {
         String normalized = normalizeTimeframe(request == null ? null : request.timeframe());
         TradeAttachment updated = service.updateTimeframe(attachmentId, normalized);
-        return AttachmentResponse.from(updated);
+        return toResponse(updated);
+    }
+
+    private AttachmentResponse toResponse(TradeAttachment attachment) {
+        return AttachmentResponse.from(attachment, service.imageUrl(attachment));
     }
 
     private TradeAttachmentSection parseSection(String section) {
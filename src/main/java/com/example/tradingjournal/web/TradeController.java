@@ -1,6 +1,8 @@
 package com.example.tradingjournal.web;
 
 import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.service.DataVersionService;
+import com.example.tradingjournal.service.TradeFields;
 import com.example.tradingjournal.service.TradeService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
@@ -8,7 +10,9 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -19,9 +23,11 @@ import java.util.List;
 public class TradeController {
 
     private final TradeService service;
+    private final DataVersionService dataVersions;
 
-    public TradeController(TradeService service) {
+    public TradeController(TradeService service, DataVersionService dataVersions) {
         this.service = service;
+        this.dataVersions = dataVersions;
     }
 
     public record CreateTradeRequest(
@@ -63,7 +69,8 @@ public class TradeController {
             BigDecimal tpPips,
             BigDecimal rrRatio,
             Instant createdAt,
-            Instant closedAt
+            Instant closedAt,
+            Instant updatedAt
     ) {
         static TradeResponse from(Trade t) {
             return new TradeResponse(
@@ -89,7 +96,8 @@ public class TradeController {
                     t.getTpPips(),
                     t.getRrRatio(),
                     t.getCreatedAt(),
-                    t.getClosedAt()
+                    t.getClosedAt(),
+                    t.getUpdatedAt()
             );
         }
     }
@@ -101,9 +109,69 @@ public class TradeController {
             @NotNull @Positive Integer confidence
     ) {}
 
+    public record BatchOperationRequest(
+            @NotBlank @Pattern(regexp = "(?i)CREATE|UPDATE|REVIEW|DELETE") String op,
+            Long id,
+            @Size(max = 20) String symbol,
+            @Pattern(regexp = "(?i)LONG|SHORT") String direction,
+            @Positive BigDecimal entryPrice,
+            @Positive BigDecimal exitPrice,
+            @Pattern(regexp = "(?i)TP|SL|BREAKEVEN|MANUAL") String closeReasonOverride,
+            @Size(max = 50) String manualReason,
+            @Size(max = 500) String manualDescription,
+            @Positive BigDecimal stopLossPrice,
+            @Positive BigDecimal takeProfitPrice,
+            BigDecimal commissionMoney,
+            BigDecimal swapMoney,
+            BigDecimal netPnlMoney,
+            Instant closedAt,
+            Instant createdAt,
+            @Pattern(regexp = "(?i)YES|NO|MAYBE") String followedPlan,
+            @Size(max = 2000) String mistakesText,
+            @Size(max = 2000) String improvementText,
+            Integer confidence
+    ) {
+        TradeService.BatchOperation toOperation() {
+            return new TradeService.BatchOperation(op, id, symbol, direction, entryPrice, exitPrice, closeReasonOverride,
+                    manualReason, manualDescription, stopLossPrice, takeProfitPrice, commissionMoney, swapMoney,
+                    netPnlMoney, closedAt, createdAt, followedPlan, mistakesText, improvementText, confidence);
+        }
+    }
+
+    public record BatchRequest(@NotNull @Size(min = 1, max = 500) List<@Valid @NotNull BatchOperationRequest> operations) {
+    }
+
+    public record BatchItemResponse(int index, String op, int status, Long id, String error, TradeResponse trade) {
+        static BatchItemResponse from(TradeService.BatchItemResult result) {
+            return new BatchItemResponse(result.index(), result.op(), result.status(), result.id(), result.error(),
+                    result.trade() != null ? TradeResponse.from(result.trade()) : null);
+        }
+    }
+
+    public record BatchResponse(boolean applied, List<BatchItemResponse> results) {
+    }
+
+    /**
+     * The user's trades, newest first. Besides JSON the list is available as Smile or CBOR through the Accept header,
+     * and {@code shape=columns} returns one array per field instead of one object per trade. {@code fields=a,b}
+     * limits each trade to those {@link TradeFields} (plus {@code id}); only their columns are read from the database.
+     */
     @GetMapping
-    public List<TradeResponse> all() {
-        return service.myTrades().stream().map(TradeResponse::from).toList();
+    public ResponseEntity<?> all(
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String shape,
+            @RequestParam(required = false) String fields,
+            WebRequest request
+    ) {
+        if (fields != null) {
+            List<String> selected = TradeFields.parse(fields);
+            return ConditionalGet.respond(request, dataVersions.etag("trades"),
+                    () -> ColumnarResponse.shape(shape, selected, service.myTradeFields(selected, from, to)));
+        }
+        return ConditionalGet.respond(request, dataVersions.etag("trades"),
+                () -> ColumnarResponse.shape(shape, TradeResponse.class,
+                        service.myTrades(from, to).stream().map(TradeResponse::from).toList()));
     }
 
     @PostMapping
@@ -162,6 +230,19 @@ public TradeResponse update(@PathVariable Long id, @Valid @RequestBody CreateTra
                 )
         );
     }
+    /**
+     * Mixed create, update, review and delete operations in one transaction. Each result carries the status the
+     * operation would get from its own endpoint; if any operation fails, nothing is written and the response is 400.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResponse> batch(@Valid @RequestBody BatchRequest req) {
+        TradeService.BatchResult result = service.batch(
+                req.operations().stream().map(BatchOperationRequest::toOperation).toList());
+        BatchResponse body = new BatchResponse(result.applied(),
+                result.items().stream().map(BatchItemResponse::from).toList());
+        return result.applied() ? ResponseEntity.ok(body) : ResponseEntity.badRequest().body(body);
+    }
+
     @DeleteMapping("/{id}") 
     public void delete(@PathVariable Long id) {
         service.delete(id);
@@ -0,0 +1,142 @@
+package com.example.tradingjournal.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Limits concurrent attachment uploads per node and per user.
+ * <p>
+ * Runs inside the security chain, after JWT authentication but before the DispatcherServlet parses the multipart
+ * body, so a rejected upload never spools 10MB to the temp disk or holds a worker thread while it waits.
+ */
+@Component
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    private static final Pattern UPLOAD_PATH = Pattern.compile("^/api/trades/[^/]+/attachments$");
+
+    private final Semaphore nodePermits;
+    private final int maxPerUser;
+    private final long queueTimeoutMs;
+    private final long retryAfterSeconds;
+    private final ConcurrentMap<String, Integer> activeByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final Counter rejectedByNode;
+    private final Counter rejectedByUser;
+
+    public UploadAdmissionFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.upload.admission.max-concurrent:8}") int maxConcurrent,
+            @Value("${app.upload.admission.max-concurrent-per-user:2}") int maxPerUser,
+            @Value("${app.upload.admission.queue-timeout-ms:250}") long queueTimeoutMs,
+            @Value("${app.upload.admission.retry-after-seconds:2}") long retryAfterSeconds
+    ) {
+        this.nodePermits = new Semaphore(maxConcurrent, true);
+        this.maxPerUser = maxPerUser;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("uploads.queued", queued, AtomicInteger::get)
+                .description("Uploads waiting for a node permit")
+                .register(meterRegistry);
+        Gauge.builder("uploads.active", active, AtomicInteger::get)
+                .description("Uploads currently being processed")
+                .register(meterRegistry);
+        this.rejectedByNode = Counter.builder("uploads.rejected").tag("limit", "node").register(meterRegistry);
+        this.rejectedByUser = Counter.builder("uploads.rejected").tag("limit", "user").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod())
+                || !UPLOAD_PATH.matcher(request.getServletPath()).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+            throws ServletException, IOException {
+        var auth = SecurityContextHolder.getContext().getAuthentication();
+        String user = auth == null ? null : auth.getName();
+
+        if (user != null && !tryAcquireUser(user)) {
+            rejectedByUser.increment();
+            reject(res, "Too many uploads in progress for this account");
+            return;
+        }
+        try {
+            if (!tryAcquireNode()) {
+                rejectedByNode.increment();
+                reject(res, "Upload capacity exceeded, retry shortly");
+                return;
+            }
+            active.incrementAndGet();
+            try {
+                chain.doFilter(req, res);
+            } finally {
+                active.decrementAndGet();
+                nodePermits.release();
+            }
+        } finally {
+            if (user != null) {
+                releaseUser(user);
+            }
+        }
+    }
+
+    private boolean tryAcquireNode() {
+        if (nodePermits.tryAcquire()) {
+            return true;
+        }
+        if (queueTimeoutMs <= 0) {
+            return false;
+        }
+        queued.incrementAndGet();
+        try {
+            return nodePermits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquireUser(String user) {
+        boolean[] acquired = {false};
+        activeByUser.compute(user, (key, count) -> {
+            int current = count == null ? 0 : count;
+            if (current >= maxPerUser) {
+                return count;
+            }
+            acquired[0] = true;
+            return current + 1;
+        });
+        return acquired[0];
+    }
+
+    private void releaseUser(String user) {
+        // Dropping the entry at zero keeps the map bounded by the number of users uploading right now.
+        activeByUser.computeIfPresent(user, (key, count) -> count <= 1 ? null : count - 1);
+    }
+
+    private void reject(HttpServletResponse res, String message) throws IOException {
+        res.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        res.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, message);
+    }
+}
@@ -0,0 +1,11 @@
+-- Not run by Flyway: single underscore and at the baseline version. The index comes from V14, the foreign key from V24.
+CREATE TABLE user_storage_usage (
+    user_id BIGINT PRIMARY KEY,
+    bytes_used BIGINT NOT NULL DEFAULT 0,
+    file_count BIGINT NOT NULL DEFAULT 0,
+    quota_bytes BIGINT,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_storage_usage_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_user_storage_usage_bytes_used ON user_storage_usage(bytes_used DESC);
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS user_data_versions (
+    user_id BIGINT PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_user_data_versions_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,19 @@
+-- Delta sync bookkeeping. Hibernate normally adds these columns first; the IF NOT EXISTS guards make the
+-- script safe either way. Existing rows get sync_version 0, so a client syncing from 0 receives them once.
+ALTER TABLE trades ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+ALTER TABLE trades ADD COLUMN IF NOT EXISTS sync_version BIGINT DEFAULT 0 NOT NULL;
+ALTER TABLE cashflows ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+ALTER TABLE cashflows ADD COLUMN IF NOT EXISTS sync_version BIGINT DEFAULT 0 NOT NULL;
+
+UPDATE trades SET updated_at = COALESCE(review_updated_at, created_at) WHERE updated_at IS NULL;
+UPDATE cashflows SET updated_at = created_at WHERE updated_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS sync_tombstones (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    sync_version BIGINT NOT NULL,
+    deleted_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_sync_tombstones_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
@@ -0,0 +1,22 @@
+-- Cold trade archive: segment files live in the blob store, these tables say which trades are in which file.
+CREATE TABLE IF NOT EXISTS trade_archive_segments (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    blob_key VARCHAR(255) NOT NULL,
+    trade_count INT NOT NULL,
+    byte_size BIGINT NOT NULL,
+    min_created_at TIMESTAMP NOT NULL,
+    max_created_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_trade_archive_segments_user FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS trade_archive_entries (
+    trade_id BIGINT PRIMARY KEY,
+    segment_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    CONSTRAINT fk_trade_archive_entries_segment FOREIGN KEY (segment_id) REFERENCES trade_archive_segments(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_trade_archive_entries_user ON trade_archive_entries (user_id);
+CREATE INDEX IF NOT EXISTS idx_trade_archive_entries_segment ON trade_archive_entries (segment_id);
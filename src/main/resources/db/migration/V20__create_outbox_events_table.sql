@@ -0,0 +1,15 @@
+-- Transactional outbox: written with the change, delivered to OutboxHandler beans by OutboxDispatcher.
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    user_id BIGINT NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    payload VARCHAR(4000),
+    created_at TIMESTAMP NOT NULL,
+    available_at TIMESTAMP NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    failed_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_due ON outbox_events (available_at, id);
@@ -0,0 +1,27 @@
+-- Admin-started recompute of derived trade metrics, checkpointed per id-range chunk so it resumes after a restart.
+CREATE TABLE IF NOT EXISTS metric_recompute_jobs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    status VARCHAR(20) NOT NULL,
+    max_trade_id BIGINT NOT NULL,
+    chunk_size INT NOT NULL,
+    total_chunks INT NOT NULL,
+    completed_chunks INT NOT NULL DEFAULT 0,
+    scanned_trades BIGINT NOT NULL DEFAULT 0,
+    updated_trades BIGINT NOT NULL DEFAULT 0,
+    failed_trades BIGINT NOT NULL DEFAULT 0,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS metric_recompute_chunks (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_id BIGINT NOT NULL,
+    start_id BIGINT NOT NULL,
+    end_id BIGINT NOT NULL,
+    scanned_trades INT NOT NULL DEFAULT 0,
+    updated_trades INT NOT NULL DEFAULT 0,
+    completed_at TIMESTAMP,
+    CONSTRAINT fk_metric_recompute_chunks_job FOREIGN KEY (job_id) REFERENCES metric_recompute_jobs(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_metric_recompute_chunks_job ON metric_recompute_chunks (job_id, start_id);
@@ -0,0 +1,40 @@
+-- Rows that predate delta sync still carry sync_version 0, which /api/sync never returns (it reads versions above
+-- the cursor). Give each of them its own version above the owner's current counter and move the counter past them,
+-- so a new client syncing from 0 and an existing client at its last cursor both receive them once.
+CREATE TABLE sync_version_backfill (
+    entity_type VARCHAR(20) NOT NULL,
+    entity_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    sync_version BIGINT NOT NULL
+);
+
+INSERT INTO sync_version_backfill (entity_type, entity_id, user_id, sync_version)
+SELECT legacy.entity_type, legacy.entity_id, legacy.user_id,
+       COALESCE(v.version, 0) + ROW_NUMBER() OVER (PARTITION BY legacy.user_id ORDER BY legacy.entity_type DESC, legacy.entity_id)
+FROM (
+    SELECT 'TRADE' AS entity_type, id AS entity_id, user_id FROM trades WHERE sync_version = 0 AND user_id IS NOT NULL
+    UNION ALL
+    SELECT 'CASHFLOW', id, user_id FROM cashflows WHERE sync_version = 0 AND user_id IS NOT NULL
+) legacy
+LEFT JOIN user_data_versions v ON v.user_id = legacy.user_id;
+
+UPDATE trades SET sync_version = (
+    SELECT b.sync_version FROM sync_version_backfill b WHERE b.entity_type = 'TRADE' AND b.entity_id = trades.id
+) WHERE id IN (SELECT entity_id FROM sync_version_backfill WHERE entity_type = 'TRADE');
+
+UPDATE cashflows SET sync_version = (
+    SELECT b.sync_version FROM sync_version_backfill b WHERE b.entity_type = 'CASHFLOW' AND b.entity_id = cashflows.id
+) WHERE id IN (SELECT entity_id FROM sync_version_backfill WHERE entity_type = 'CASHFLOW');
+
+UPDATE user_data_versions SET version = (
+    SELECT MAX(b.sync_version) FROM sync_version_backfill b WHERE b.user_id = user_data_versions.user_id
+), updated_at = CURRENT_TIMESTAMP
+WHERE user_id IN (SELECT user_id FROM sync_version_backfill);
+
+INSERT INTO user_data_versions (user_id, version, updated_at)
+SELECT b.user_id, MAX(b.sync_version), CURRENT_TIMESTAMP
+FROM sync_version_backfill b
+WHERE b.user_id NOT IN (SELECT user_id FROM user_data_versions)
+GROUP BY b.user_id;
+
+DROP TABLE sync_version_backfill;
@@ -0,0 +1,3 @@
+-- Kept originals of re-encoded attachments (app.upload.optimize.keep-original), so deletion and quotas cover them.
+ALTER TABLE trade_attachments ADD COLUMN IF NOT EXISTS original_relative_path VARCHAR(500);
+ALTER TABLE trade_attachments ADD COLUMN IF NOT EXISTS original_file_size BIGINT;
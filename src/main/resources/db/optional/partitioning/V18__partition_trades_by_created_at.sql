@@ -0,0 +1,86 @@
+-- Optional, PostgreSQL only: enabled by the "partitioned" profile (see application-partitioned.properties).
+--
+-- Rebuilds trades as a table range-partitioned by month on created_at. Queries that bound created_at only
+-- touch the matching partitions, and old months can be vacuumed, reindexed or detached on their own.
+-- The copy runs in this migration's transaction; on a large table schedule it for a maintenance window.
+--
+-- Consequences for later migrations:
+--   * the primary key is (id, created_at), ids still come from one sequence and stay unique;
+--   * foreign keys can no longer reference trades(id), so the trade_attachments FK is dropped and ownership is
+--     enforced by the services, as it already is for every read;
+--   * CREATE INDEX CONCURRENTLY does not work on the partitioned parent; create indexes without it.
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN
+        SELECT conname, conrelid::regclass AS table_name
+        FROM pg_constraint
+        WHERE contype = 'f' AND confrelid = 'trades'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE trades RENAME TO trades_unpartitioned;
+
+CREATE SEQUENCE trades_partitioned_id_seq;
+SELECT setval('trades_partitioned_id_seq', COALESCE((SELECT max(id) FROM trades_unpartitioned), 0) + 1, false);
+
+CREATE TABLE trades (LIKE trades_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+    PARTITION BY RANGE (created_at);
+ALTER TABLE trades ALTER COLUMN id SET DEFAULT nextval('trades_partitioned_id_seq');
+ALTER SEQUENCE trades_partitioned_id_seq OWNED BY trades.id;
+ALTER TABLE trades ADD CONSTRAINT trades_pkey_partitioned PRIMARY KEY (id, created_at);
+ALTER TABLE trades ADD CONSTRAINT fk_trades_user FOREIGN KEY (user_id) REFERENCES users (id);
+
+-- Catches rows outside every monthly partition, e.g. a trade backdated before the first month.
+CREATE TABLE trades_default PARTITION OF trades DEFAULT;
+
+-- Creates one partition per month from from_month through months_ahead months after the current one.
+-- Returns the number of partitions created; existing ones are skipped.
+CREATE OR REPLACE FUNCTION ensure_trade_partitions(months_ahead integer, from_month date DEFAULT NULL)
+RETURNS integer
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    month_start date := date_trunc('month', COALESCE(from_month, now()::date))::date;
+    last_month date := (date_trunc('month', now()) + make_interval(months => months_ahead))::date;
+    partition_name text;
+    created integer := 0;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        partition_name := format('trades_p%s', to_char(month_start, 'YYYYMM'));
+        IF to_regclass(partition_name) IS NULL THEN
+            BEGIN
+                EXECUTE format(
+                    'CREATE TABLE %I PARTITION OF trades FOR VALUES FROM (%L) TO (%L)',
+                    partition_name,
+                    to_char(month_start, 'YYYY-MM-DD') || ' 00:00:00+00',
+                    to_char((month_start + interval '1 month')::date, 'YYYY-MM-DD') || ' 00:00:00+00'
+                );
+                created := created + 1;
+            EXCEPTION WHEN others THEN
+                -- Typically rows for that month already sit in trades_default; leave them there.
+                RAISE WARNING 'Could not create partition %: %', partition_name, SQLERRM;
+            END;
+        END IF;
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END $$;
+
+SELECT ensure_trade_partitions(3, (SELECT min(created_at)::date FROM trades_unpartitioned));
+
+INSERT INTO trades SELECT * FROM trades_unpartitioned;
+
+DROP TABLE trades_unpartitioned;
+
+-- Partitioned versions of the V14 and V17 indexes; each partition gets its own copy.
+CREATE INDEX IF NOT EXISTS idx_trades_user_created_at_id ON trades (user_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_trades_user_closed_at ON trades (user_id, closed_at);
+CREATE INDEX IF NOT EXISTS idx_trades_user_open ON trades (user_id, created_at DESC, id DESC) WHERE closed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_trades_user_sync_version ON trades (user_id, sync_version);
+-- Lookups by id alone cannot prune; this keeps them to one index probe per partition.
+CREATE INDEX IF NOT EXISTS idx_trades_id ON trades (id);
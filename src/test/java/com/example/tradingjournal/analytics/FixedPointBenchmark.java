@@ -0,0 +1,139 @@
+package com.example.tradingjournal.analytics;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.service.InstrumentRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link TradeSnapshot} loops against the same work on {@code BigDecimal} entity fields. Run through
+ * {@link FixedPointBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixedPointBenchmark {
+
+    private static final List<String> SYMBOLS = List.of("EURUSD", "GBPJPY", "USDJPY", "AUDUSD", "XAUUSD");
+
+    @Param({"10000"})
+    public int trades;
+
+    private List<Trade> entities;
+    private TradeSnapshot snapshot;
+    private InstrumentRegistry instruments;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        Instant start = Instant.parse("2020-01-01T00:00:00Z");
+        entities = new ArrayList<>(trades);
+        for (int i = 0; i < trades; i++) {
+            Trade trade = new Trade();
+            trade.setId((long) i + 1);
+            trade.setSymbol(SYMBOLS.get(random.nextInt(SYMBOLS.size())));
+            trade.setDirection(random.nextBoolean() ? "LONG" : "SHORT");
+            trade.setCreatedAt(start.plusSeconds(3_600L * i));
+            BigDecimal entry = BigDecimal.valueOf(100_000_000L + random.nextInt(50_000_000), 8);
+            trade.setEntryPrice(entry);
+            trade.setStopLossPrice(entry.subtract(BigDecimal.valueOf(random.nextInt(1_000_000) + 1, 8)));
+            if (random.nextInt(10) > 0) {
+                trade.setClosedAt(trade.getCreatedAt().plusSeconds(1_800));
+                trade.setExitPrice(entry.add(BigDecimal.valueOf(random.nextInt(2_000_000) - 1_000_000, 8)));
+                trade.setNetPnlMoney(BigDecimal.valueOf(random.nextInt(200_000) - 100_000, 2));
+            }
+            entities.add(trade);
+        }
+        instruments = new InstrumentRegistry();
+        snapshot = TradeSnapshot.of(entities, instruments);
+    }
+
+    @Benchmark
+    public BigDecimal totalNetPnlBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Trade trade : entities) {
+            if (trade.getNetPnlMoney() != null && trade.getClosedAt() != null) {
+                total = total.add(trade.getNetPnlMoney());
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalNetPnlFixedPoint() {
+        return snapshot.totalNetPnlMoney();
+    }
+
+    @Benchmark
+    public BigDecimal[] cumulativeNetPnlBigDecimal() {
+        BigDecimal[] curve = new BigDecimal[entities.size()];
+        BigDecimal running = BigDecimal.ZERO;
+        for (int i = 0; i < curve.length; i++) {
+            Trade trade = entities.get(i);
+            if (trade.getNetPnlMoney() != null && trade.getClosedAt() != null) {
+                running = running.add(trade.getNetPnlMoney());
+            }
+            curve[i] = running;
+        }
+        return curve;
+    }
+
+    @Benchmark
+    public long[] cumulativeNetPnlFixedPoint() {
+        return snapshot.cumulativeNetPnlMoney();
+    }
+
+    @Benchmark
+    public BigDecimal realizedRBigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Trade trade : entities) {
+            if (trade.getExitPrice() == null) {
+                continue;
+            }
+            BigDecimal risk = trade.getEntryPrice().subtract(trade.getStopLossPrice());
+            BigDecimal move = trade.getExitPrice().subtract(trade.getEntryPrice());
+            total = total.add(move.divide(risk, 4, RoundingMode.HALF_UP));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double realizedRFixedPoint() {
+        double total = 0;
+        for (int i = 0; i < snapshot.size(); i++) {
+            long exit = snapshot.exitPrice(i);
+            if (exit == FixedPoint.NULL) {
+                continue;
+            }
+            long entry = snapshot.entryPrice(i);
+            // Both are at the price scale, so the ratio needs no rescaling.
+            total += (double) (exit - entry) / (entry - snapshot.stopLossPrice(i));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public TradeSnapshot buildSnapshot() {
+        return TradeSnapshot.of(entities, instruments);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.tradingjournal.analytics;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link FixedPointBenchmark} under JMH. Excluded from the normal build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=FixedPointBenchmarkTests}. Size with {@code -Dbenchmark.trades=100000}.
+ */
+@Tag("benchmark")
+@Tag("jmh")
+class FixedPointBenchmarkTests {
+
+    @Test
+    void fixedPointAgainstBigDecimal() throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(FixedPointBenchmark.class.getName())
+                .param("trades", System.getProperty("benchmark.trades", "10000"))
+                .addProfiler("gc")
+                .build()).run();
+
+        assertThat(results).isNotEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.tradingjournal.analytics;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FixedPointTests {
+
+    @Test
+    void roundTripsColumnPrecisionsExactly() {
+        for (String value : new String[]{"0", "1.1", "-0.00000001", "9999999999.99999999", "-9999999999.99999999", "191.234"}) {
+            BigDecimal price = new BigDecimal(value);
+            assertThat(FixedPoint.priceToDecimal(FixedPoint.price(price))).isEqualByComparingTo(price);
+        }
+        for (String value : new String[]{"0.00", "-12.5", "9999999999999999.99", "-9999999999999999.99", "1E+3"}) {
+            BigDecimal money = new BigDecimal(value);
+            assertThat(FixedPoint.moneyToDecimal(FixedPoint.money(money))).isEqualByComparingTo(money);
+        }
+        assertThat(FixedPoint.money(new BigDecimal("12.5"))).isEqualTo(1250);
+        assertThat(FixedPoint.price(null)).isEqualTo(FixedPoint.NULL);
+        assertThat(FixedPoint.moneyToDecimal(FixedPoint.NULL)).isNull();
+    }
+
+    @Test
+    void rejectsValuesThatWouldRound() {
+        assertThatThrownBy(() -> FixedPoint.money(new BigDecimal("0.001")))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> FixedPoint.price(new BigDecimal("123456789012.123456789")))
+                .isInstanceOf(ArithmeticException.class);
+    }
+}
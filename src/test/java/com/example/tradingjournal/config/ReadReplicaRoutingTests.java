@@ -0,0 +1,87 @@
+package com.example.tradingjournal.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes against two independent PostgreSQL instances, told apart by database name.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingTests {
+
+    @Container
+    static PostgreSQLContainer primary = new PostgreSQLContainer("postgres:16-alpine").withDatabaseName("primary_db");
+
+    @Container
+    static PostgreSQLContainer replica = new PostgreSQLContainer("postgres:16-alpine").withDatabaseName("replica_db");
+
+    private JdbcTemplate jdbc;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        ReadYourWritesGuard guard = new ReadYourWritesGuard(Duration.ofMillis(500), Clock.systemUTC());
+        DataSource routing = ReadReplicaConfig.routingDataSource(dataSource(primary), dataSource(replica), guard);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbc = new JdbcTemplate(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("test@example.com", null, "ROLE_USER"));
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseReplica() {
+        assertThat(databaseIn(readOnly)).isEqualTo("replica_db");
+        assertThat(databaseIn(readWrite)).isEqualTo("primary_db");
+    }
+
+    @Test
+    void readsStayOnPrimaryShortlyAfterOwnWrite() throws InterruptedException {
+        readWrite.executeWithoutResult(status -> currentDatabase());
+        assertThat(databaseIn(readOnly)).isEqualTo("primary_db");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("second@example.com", null, "ROLE_USER"));
+        assertThat(databaseIn(readOnly)).isEqualTo("replica_db");
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("test@example.com", null, "ROLE_USER"));
+        Thread.sleep(700);
+        assertThat(databaseIn(readOnly)).isEqualTo("replica_db");
+    }
+
+    private String databaseIn(TransactionTemplate transaction) {
+        // Typed local: passing execute(...) straight to assertThat is ambiguous between its Predicate overloads.
+        String database = transaction.execute(status -> currentDatabase());
+        return database;
+    }
+
+    private String currentDatabase() {
+        return jdbc.queryForObject("select current_database()", String.class);
+    }
+
+    private static DataSource dataSource(PostgreSQLContainer container) {
+        return new DriverManagerDataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword());
+    }
+}
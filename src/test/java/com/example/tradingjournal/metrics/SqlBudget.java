@@ -0,0 +1,27 @@
+package com.example.tradingjournal.metrics;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * MockMvc matchers for the {@link SqlStatsFilter} debug header. Tests using them must set
+ * {@code app.sql-stats.debug-header=true}.
+ */
+public final class SqlBudget {
+
+    private SqlBudget() {
+    }
+
+    public static ResultMatcher maxStatements(int max) {
+        return result -> {
+            String header = result.getResponse().getHeader(SqlStatsFilter.STATEMENTS_HEADER);
+            assertThat(header)
+                    .as("%s header on %s", SqlStatsFilter.STATEMENTS_HEADER, result.getRequest().getRequestURI())
+                    .isNotNull();
+            assertThat(Integer.parseInt(header))
+                    .as("SQL statements for %s %s", result.getRequest().getMethod(), result.getRequest().getRequestURI())
+                    .isLessThanOrEqualTo(max);
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.tradingjournal.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatsListenerTests {
+
+    @Test
+    void subMillisecondStatementsStillRecordTime() {
+        SqlStatsListener listener = new SqlStatsListener();
+        SqlStats.Snapshot start = SqlStats.snapshot();
+
+        ExecutionInfo execution = new ExecutionInfo();
+        listener.beforeQuery(execution, List.of());
+        listener.afterQuery(execution, List.of());
+
+        SqlStats.Snapshot used = SqlStats.snapshot().since(start);
+        assertThat(used.statements()).isEqualTo(1);
+        assertThat(used.elapsedNanos()).isPositive().isLessThan(1_000_000_000L);
+        assertThat(used.elapsedMillisText()).matches("\\d+\\.\\d{3}");
+    }
+}
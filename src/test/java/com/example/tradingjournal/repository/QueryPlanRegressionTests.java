@@ -0,0 +1,197 @@
+package com.example.tradingjournal.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every repository query against a seeded PostgreSQL and fails if any plan sequentially scans a large table.
+ * <p>
+ * Plans are captured with {@code EXPLAIN (GENERIC_PLAN)} on the exact SQL Hibernate generated, so a renamed
+ * derived query or a dropped index shows up here rather than in production. Add new repository queries to
+ * {@link #repositoryQueries()}.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.example.tradingjournal.repository.CapturingStatementInspector",
+        // Cache hits issue no SQL, which would hide the very queries this test needs to explain.
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=false"
+})
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanRegressionTests {
+
+    private static final Set<String> LARGE_TABLES = Set.of("users", "trades", "cashflows", "trade_attachments");
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+    private static final String EMAIL = "bulk42@example.com";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private TradeRepository trades;
+    @Autowired
+    private CashflowRepository cashflows;
+    @Autowired
+    private TradeAttachmentRepository attachments;
+    @Autowired
+    private AccountSettingsRepository accountSettings;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private UserStorageUsageRepository storageUsage;
+    @Autowired
+    private TradeArchiveEntryRepository archiveEntries;
+
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbc) {
+        jdbc.execute("""
+                insert into users (email, password_hash, role, provider)
+                select 'bulk' || g || '@example.com', 'x', 'USER', 'LOCAL'
+                from generate_series(1, 5000) g
+                """);
+        jdbc.execute("""
+                insert into trades (user_id, symbol, direction, entry_price, created_at, closed_at)
+                select u.id,
+                       (array['EURUSD', 'GBPJPY', 'XAUUSD'])[1 + g % 3],
+                       case when g % 2 = 0 then 'LONG' else 'SHORT' end,
+                       1.1,
+                       now() - make_interval(mins => g),
+                       case when g % 5 = 0 then null else now() - make_interval(mins => g) + interval '1 hour' end
+                from generate_series(1, 300000) g
+                join users u on u.email = 'bulk' || (1 + g % 5000) || '@example.com'
+                """);
+        jdbc.execute("""
+                insert into cashflows (user_id, type, amount_money, occurred_at, created_at)
+                select u.id, 'DEPOSIT', 100, now() - make_interval(hours => g), now()
+                from generate_series(1, 100000) g
+                join users u on u.email = 'bulk' || (1 + g % 5000) || '@example.com'
+                """);
+        jdbc.execute("""
+                insert into trade_attachments (trade_id, section, content_type, file_size, relative_path, created_at)
+                select t.id, 'ENTRY', 'image/png', 1024, 'seed/' || t.id || '.png', t.created_at
+                from trades t
+                where t.id % 3 = 0
+                """);
+        jdbc.execute("analyze");
+    }
+
+    @Test
+    void repositoryQueriesDoNotSequentiallyScanLargeTables() {
+        List<String> failures = new ArrayList<>();
+        repositoryQueries().forEach((name, query) -> {
+            CapturingStatementInspector.clear();
+            query.run();
+            for (String sql : CapturingStatementInspector.captured()) {
+                String plan = explain(sql);
+                Matcher matcher = SEQ_SCAN.matcher(plan);
+                while (matcher.find()) {
+                    if (LARGE_TABLES.contains(matcher.group(1))) {
+                        failures.add(name + ": " + matcher.group() + System.lineSeparator() + plan);
+                    }
+                }
+            }
+        });
+        assertThat(failures).isEmpty();
+    }
+
+    @Test
+    void fieldProjectionSelectsOnlyRequestedColumns() {
+        CapturingStatementInspector.clear();
+        trades.findFieldsByUserEmail(EMAIL, List.of("symbol", "netPnlMoney"), Instant.EPOCH, Instant.now());
+
+        assertThat(CapturingStatementInspector.captured()).singleElement().satisfies(sql -> assertThat(sql)
+                .contains("symbol", "net_pnl_money")
+                .doesNotContain("manual_description", "mistakes_text", "entry_price"));
+    }
+
+    private Map<String, Runnable> repositoryQueries() {
+        Long userId = users.findByEmail(EMAIL).orElseThrow().getId();
+        Long tradeId = trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(EMAIL).get(0).getId();
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("TradeRepository.findAllByUserEmailOrderByCreatedAtDescIdDesc",
+                () -> trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(EMAIL));
+        queries.put("TradeRepository.findAllByUserEmailAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDescIdDesc",
+                () -> trades.findAllByUserEmailAndCreatedAtGreaterThanEqualAndCreatedAtLessThanOrderByCreatedAtDescIdDesc(
+                        EMAIL, Instant.now().minus(30, ChronoUnit.DAYS), Instant.now()));
+        queries.put("TradeRepository.findFieldsByUserEmail",
+                () -> trades.findFieldsByUserEmail(EMAIL, List.of("symbol", "netPnlMoney"), Instant.EPOCH, Instant.now()));
+        queries.put("TradeRepository.findByIdAndUserEmail",
+                () -> trades.findByIdAndUserEmail(tradeId, EMAIL));
+        queries.put("TradeRepository.findAllByIdInAndUserEmail",
+                () -> trades.findAllByIdInAndUserEmail(List.of(tradeId, tradeId + 1), EMAIL));
+        queries.put("CashflowRepository.findAllByUserEmailOrderByOccurredAtDescIdDesc",
+                () -> cashflows.findAllByUserEmailOrderByOccurredAtDescIdDesc(EMAIL));
+        queries.put("CashflowRepository.findByIdAndUserEmail",
+                () -> cashflows.findByIdAndUserEmail(1L, EMAIL));
+        queries.put("TradeAttachmentRepository.findAllByTradeIdOrderByCreatedAtDesc",
+                () -> attachments.findAllByTradeIdOrderByCreatedAtDesc(tradeId));
+        queries.put("TradeAttachmentRepository.findAllByTradeIdInAndTradeUserEmailOrderByCreatedAtDesc",
+                () -> attachments.findAllByTradeIdInAndTradeUserEmailOrderByCreatedAtDesc(List.of(tradeId, tradeId + 1), EMAIL));
+        queries.put("TradeAttachmentRepository.findByIdAndTradeUserEmail",
+                () -> attachments.findByIdAndTradeUserEmail(1L, EMAIL));
+        queries.put("TradeAttachmentRepository.countByTradeUserId",
+                () -> attachments.countByTradeUserId(userId));
+        queries.put("TradeAttachmentRepository.sumFileSizeByUserId",
+                () -> attachments.sumFileSizeByUserId(userId));
+        queries.put("AccountSettingsRepository.findByUserId",
+                () -> accountSettings.findByUserId(userId));
+        queries.put("UserRepository.findByEmail",
+                () -> users.findByEmail(EMAIL));
+        queries.put("UserRepository.findByGoogleSub",
+                () -> users.findByGoogleSub("google-sub-42"));
+        queries.put("UserRepository.existsByEmail",
+                () -> users.existsByEmail(EMAIL));
+        queries.put("TradeRepository.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc",
+                () -> trades.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(userId, 1L, Long.MAX_VALUE, PageRequest.of(0, 501)));
+        queries.put("CashflowRepository.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc",
+                () -> cashflows.findAllByUserIdAndSyncVersionBetweenOrderBySyncVersionAsc(userId, 1L, Long.MAX_VALUE, PageRequest.of(0, 501)));
+        queries.put("TradeArchiveEntryRepository.findAllWithSegmentByUserEmail",
+                () -> archiveEntries.findAllWithSegmentByUserEmail(EMAIL));
+        queries.put("UserStorageUsageRepository.findAllByOrderByBytesUsedDesc",
+                () -> storageUsage.findAllByOrderByBytesUsedDesc(PageRequest.of(0, 50)));
+        return queries;
+    }
+
+    private String explain(String sql) {
+        return String.join(System.lineSeparator(),
+                jdbc.queryForList("explain (generic_plan) " + toPositionalParameters(sql), String.class));
+    }
+
+    // Hibernate binds with '?', EXPLAIN (GENERIC_PLAN) needs PostgreSQL's $n placeholders.
+    private static String toPositionalParameters(String sql) {
+        StringBuilder out = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                out.append('$').append(++index);
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
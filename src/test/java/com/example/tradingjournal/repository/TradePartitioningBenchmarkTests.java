@@ -0,0 +1,195 @@
+package com.example.tradingjournal.repository;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a plain and a monthly partitioned trades layout on the same synthetic data.
+ * <p>
+ * Excluded from the normal build; run with {@code ./mvnw test -Pbenchmark}. Size with
+ * {@code -Dbenchmark.trades=20000000}. Reports the recent-window list query, index size and the cost of vacuuming
+ * what a recent month touches, and fails if the partitioned plan stops pruning.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class TradePartitioningBenchmarkTests {
+
+    private static final long TRADES = Long.getLong("benchmark.trades", 2_000_000L);
+    private static final int USERS = 20_000;
+    private static final int YEARS = 5;
+    private static final int RUNS = 50;
+    private static final Pattern PARTITION_SCAN = Pattern.compile("on (trades_part_p\\d{6})");
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine")
+            .withCommand("postgres", "-c", "shared_buffers=256MB", "-c", "max_wal_size=4GB");
+
+    private static Instant windowEnd;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        windowEnd = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            String columns = """
+                    (id bigint not null, user_id bigint not null, symbol varchar(20) not null,
+                     direction varchar(20) not null, entry_price numeric(18,8), exit_price numeric(18,8),
+                     net_pnl_money numeric(18,2), created_at timestamptz not null, closed_at timestamptz)""";
+            statement.execute("create table trades_flat " + columns);
+            statement.execute("create table trades_part " + columns + " partition by range (created_at)");
+            statement.execute("""
+                    do $$
+                    declare m date := date_trunc('month', now() - interval '%d years')::date;
+                    begin
+                        while m <= date_trunc('month', now() + interval '1 month') loop
+                            execute format('create table trades_part_p%%s partition of trades_part for values from (%%L) to (%%L)',
+                                           to_char(m, 'YYYYMM'), m, (m + interval '1 month')::date);
+                            m := (m + interval '1 month')::date;
+                        end loop;
+                    end $$""".formatted(YEARS));
+
+            String generate = """
+                    select g, 1 + (g %% %d), (array['EURUSD','GBPUSD','USDJPY','XAUUSD','US30'])[1 + g %% 5],
+                           case when g %% 2 = 0 then 'BUY' else 'SELL' end, 1.1, 1.11, 25.00,
+                           now() - (random() * interval '%d years'), now()
+                    from generate_series(1, %d) g""".formatted(USERS, YEARS, TRADES);
+            statement.execute("insert into trades_flat " + generate);
+            statement.execute("insert into trades_part select * from trades_flat");
+
+            for (String table : List.of("trades_flat", "trades_part")) {
+                statement.execute("create index on " + table + " (user_id, created_at desc, id desc)");
+                statement.execute("analyze " + table);
+            }
+        }
+    }
+
+    @Test
+    void recentWindowQueryPrunesAndCompares() throws SQLException {
+        Instant from = windowEnd.minus(30, ChronoUnit.DAYS);
+        Instant to = windowEnd.plus(1, ChronoUnit.DAYS);
+
+        try (Connection connection = connect()) {
+            double flatMs = medianMillis(connection, "trades_flat", from, to);
+            double partMs = medianMillis(connection, "trades_part", from, to);
+            String partPlan = explain(connection, "trades_part", from, to);
+
+            List<String> scanned = new ArrayList<>();
+            Matcher matcher = PARTITION_SCAN.matcher(partPlan);
+            while (matcher.find()) {
+                scanned.add(matcher.group(1));
+            }
+
+            System.out.printf("%n%,d trades, %,d users, 30 day window, median of %d runs%n", TRADES, USERS, RUNS);
+            System.out.printf("  %-12s %10s %14s %16s%n", "layout", "query ms", "index size", "vacuum recent ms");
+            System.out.printf("  %-12s %10.3f %14s %16d%n", "flat", flatMs,
+                    indexSize(connection, "trades_flat"), vacuumMillis(connection, List.of("trades_flat")));
+            System.out.printf("  %-12s %10.3f %14s %16d%n", "partitioned", partMs,
+                    indexSize(connection, "trades_part"), vacuumMillis(connection, recentPartitions(connection)));
+            System.out.printf("  partitions scanned: %s%n%n", scanned);
+
+            assertThat(scanned).as("partitions in plan%n%s", partPlan).isNotEmpty().hasSizeLessThanOrEqualTo(2);
+        }
+    }
+
+    private static double medianMillis(Connection connection, String table, Instant from, Instant to) throws SQLException {
+        List<Long> samples = new ArrayList<>();
+        try (PreparedStatement query = listQuery(connection, "", table, from, to)) {
+            for (int run = 0; run < RUNS + 5; run++) {
+                query.setLong(1, 1 + run % USERS);
+                long start = System.nanoTime();
+                try (ResultSet rs = query.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getLong(1);
+                    }
+                }
+                if (run >= 5) {
+                    samples.add(System.nanoTime() - start);
+                }
+            }
+        }
+        Collections.sort(samples);
+        return samples.get(samples.size() / 2) / 1_000_000.0;
+    }
+
+    private static String explain(Connection connection, String table, Instant from, Instant to) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement query = listQuery(connection, "explain (analyze, buffers) ", table, from, to)) {
+            query.setLong(1, 42);
+            try (ResultSet rs = query.executeQuery()) {
+                while (rs.next()) {
+                    plan.append(rs.getString(1)).append(System.lineSeparator());
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static PreparedStatement listQuery(Connection connection, String prefix, String table, Instant from, Instant to)
+            throws SQLException {
+        // Same shape as TradeRepository.findAllByUserEmailAndCreatedAtGreaterThanEqualAndCreatedAtLessThan...
+        PreparedStatement query = connection.prepareStatement(prefix + "select * from " + table
+                + " where user_id = ? and created_at >= ? and created_at < ? order by created_at desc, id desc");
+        query.setTimestamp(2, Timestamp.from(from));
+        query.setTimestamp(3, Timestamp.from(to));
+        return query;
+    }
+
+    private static List<String> recentPartitions(Connection connection) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select 'trades_part_p' || to_char(now(), 'YYYYMM')")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+            }
+        }
+        return names;
+    }
+
+    private static String indexSize(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select pg_size_pretty(sum(pg_indexes_size(relid))) "
+                     + "from pg_partition_tree('" + table + "')")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private static long vacuumMillis(Connection connection, List<String> tables) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Touch the recent month the way ongoing edits would, then vacuum what needs it.
+            for (String table : tables) {
+                statement.execute("update " + table + " set net_pnl_money = net_pnl_money + 1 "
+                        + "where created_at >= date_trunc('month', now())");
+            }
+            long start = System.nanoTime();
+            for (String table : tables) {
+                statement.execute("vacuum " + table);
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        }
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+}
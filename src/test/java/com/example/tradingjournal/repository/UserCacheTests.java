@@ -0,0 +1,126 @@
+package com.example.tradingjournal.repository;
+
+import com.example.tradingjournal.model.AccountSettings;
+import com.example.tradingjournal.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Second-level cache behaviour for users and account settings: repeated lookups stay off the database, and writes
+ * through the repositories are visible to the next lookup.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class UserCacheTests {
+
+    private static final String EMAIL = "second@example.com";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private AccountSettingsRepository accountSettings;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void emailLookupIsServedFromCache() {
+        users.findByEmail(EMAIL).orElseThrow();
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        User cached = users.findByEmail(EMAIL).orElseThrow();
+
+        assertThat(cached.getEmail()).isEqualTo(EMAIL);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirst);
+        assertThat(statistics.getNaturalIdCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void registrationKeepsCachedUsers() {
+        users.findByEmail(EMAIL).orElseThrow();
+        String registered = "registered-" + Instant.now().toEpochMilli() + "@example.com";
+
+        assertThat(users.insertIfAbsent(registered, "hash")).isTrue();
+        assertThat(users.insertIfAbsent(registered, "other")).isFalse();
+        long statementsAfterInserts = statistics.getPrepareStatementCount();
+
+        assertThat(users.findByEmail(EMAIL)).isPresent();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterInserts);
+        assertThat(users.findByEmail(registered).orElseThrow().getPasswordHash()).isEqualTo("hash");
+    }
+
+    @Test
+    void profileUpdateIsVisibleToNextLookup() {
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        user.setDisplayName("Renamed " + Instant.now().toEpochMilli());
+        users.save(user);
+
+        assertThat(users.findByEmail(EMAIL).orElseThrow().getDisplayName()).isEqualTo(user.getDisplayName());
+    }
+
+    @Test
+    void settingsUpsertIsVisibleToNextLookup() {
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        AccountSettings settings = accountSettings.findByUserId(user.getId()).orElseGet(AccountSettings::new);
+        settings.setUser(user);
+        settings.setStartingBalance(new BigDecimal("1000.00"));
+        settings.setRiskPercent(new BigDecimal("1.0000"));
+        settings.setCurrency("USD");
+        settings.setCreatedAt(settings.getCreatedAt() == null ? Instant.now() : settings.getCreatedAt());
+        settings.setUpdatedAt(Instant.now());
+        accountSettings.save(settings);
+        accountSettings.findByUserId(user.getId()).orElseThrow();
+
+        settings.setStartingBalance(new BigDecimal("2500.00"));
+        settings.setUpdatedAt(Instant.now());
+        accountSettings.save(settings);
+
+        assertThat(accountSettings.findByUserId(user.getId()).orElseThrow().getStartingBalance())
+                .isEqualByComparingTo("2500.00");
+    }
+
+    @Test
+    void settingsUpsertKeepsOtherUsersCached() {
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        String otherEmail = "settings-" + Instant.now().toEpochMilli() + "@example.com";
+        users.insertIfAbsent(otherEmail, "hash");
+        User other = users.findByEmail(otherEmail).orElseThrow();
+        accountSettings.upsert(other.getId(), new BigDecimal("500.00"), new BigDecimal("2.0000"), "EUR", Instant.now());
+        accountSettings.upsert(user.getId(), new BigDecimal("1000.00"), new BigDecimal("1.0000"), "USD", Instant.now());
+        accountSettings.findByUserId(other.getId()).orElseThrow();
+        accountSettings.findByUserId(user.getId()).orElseThrow();
+
+        accountSettings.upsert(user.getId(), new BigDecimal("3000.00"), new BigDecimal("1.0000"), "USD", Instant.now());
+        long statementsAfterUpsert = statistics.getPrepareStatementCount();
+
+        assertThat(accountSettings.findByUserId(other.getId()).orElseThrow().getCurrency()).isEqualTo("EUR");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterUpsert);
+        assertThat(accountSettings.findByUserId(user.getId()).orElseThrow().getStartingBalance())
+                .isEqualByComparingTo("3000.00");
+    }
+}
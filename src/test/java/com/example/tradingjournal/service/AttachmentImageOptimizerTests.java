@@ -0,0 +1,118 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.TradeAttachment;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeAttachmentRepository;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import com.example.tradingjournal.storage.BlobStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"app.upload.optimize.enabled=true", "app.upload.optimize.min-bytes=1024"})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class AttachmentImageOptimizerTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+    @Autowired
+    private TradeAttachmentRepository attachments;
+    @Autowired
+    private StorageUsageService storageUsage;
+    @Autowired
+    private BlobStore blobStore;
+
+    @Test
+    void largePngIsReencodedAndUsageFollows() throws Exception {
+        // A fresh user, so the usage row holds nothing but this upload.
+        String email = "optimizer-" + Instant.now().toEpochMilli() + "@example.com";
+        users.insertIfAbsent(email, "hash");
+        User user = users.findByEmail(email).orElseThrow();
+        Trade trade = new Trade("EURUSD", "BUY", new BigDecimal("1.10000"), Instant.now());
+        trade.setUser(user);
+        Long tradeId = trades.save(trade).getId();
+        byte[] png = screenshot();
+
+        mvc.perform(multipart("/api/trades/{tradeId}/attachments", tradeId)
+                        .file(new MockMultipartFile("file", "chart.png", "image/png", png))
+                        .param("section", "ENTRY")
+                        .header("Authorization", "Bearer " + jwtService.generateToken(email)))
+                .andExpect(status().isOk());
+        Long attachmentId = attachments.findAllByTradeIdOrderByCreatedAtDesc(tradeId).get(0).getId();
+
+        TradeAttachment optimized = awaitReencoded(attachmentId);
+
+        assertThat(optimized.getFileSize()).isLessThan(png.length);
+        assertThat(optimized.getRelativePath()).endsWith(".jpg");
+        assertThat(optimized.getOriginalRelativePath()).isNull();
+        try (InputStream in = blobStore.open(optimized.getRelativePath())) {
+            assertThat(in.readAllBytes()).hasSize((int) optimized.getFileSize());
+        }
+        StorageUsageService.StorageUsage usage = storageUsage.usageFor(user.getId());
+        assertThat(usage.bytesUsed()).isEqualTo(optimized.getFileSize());
+        assertThat(usage.fileCount()).isEqualTo(1);
+    }
+
+    private TradeAttachment awaitReencoded(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            TradeAttachment attachment = attachments.findById(id).orElseThrow();
+            if ("image/jpeg".equals(attachment.getContentType())) {
+                return attachment;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Attachment " + id + " was not re-encoded");
+    }
+
+    // Gradient with low-bit noise: about 3 MB as PNG, well under 200 KB as JPEG.
+    private static byte[] screenshot() throws IOException {
+        int width = 1600;
+        int height = 1000;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int noise = random.nextInt(16);
+                image.setRGB(x, y, (x * 255 / width) << 16 | ((y * 255 / height) ^ noise) << 8 | noise * 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.tradingjournal.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InstrumentRegistryTests {
+
+    private final InstrumentRegistry registry = new InstrumentRegistry();
+
+    @Test
+    void matchesTheUiTable() {
+        assertThat(registry.all()).hasSize(22);
+        assertThat(registry.all().get(0).symbol()).isEqualTo("GBPJPY");
+
+        InstrumentRegistry.Instrument gold = registry.find("xauusd ");
+        assertThat(gold.type()).isEqualTo(InstrumentRegistry.TYPE_METAL);
+        assertThat(gold.unitsPerLot()).isEqualTo(100);
+        assertThat(gold.displayUnit()).isEqualTo("ticks");
+        assertThat(registry.byId(gold.id())).isSameAs(gold);
+
+        InstrumentRegistry.Instrument eurusd = registry.find("EURUSD");
+        assertThat(eurusd.label()).isEqualTo("EUR/USD");
+        assertThat(eurusd.unitsPerLot()).isEqualTo(100_000);
+    }
+
+    @Test
+    void pipSizesAreSharedConstants() {
+        assertThat(registry.pipSize("USDJPY")).isEqualByComparingTo("0.01");
+        assertThat(registry.pipSize("EURUSD")).isEqualByComparingTo("0.0001");
+        assertThat(registry.pipSize("EURUSD")).isSameAs(registry.pipSize("eurusd"));
+        assertThat(registry.pipSizeUsed("XAUUSD")).isEqualTo(new BigDecimal("0.0100"));
+    }
+
+    @Test
+    void unknownSymbolsFallBackToTheFxRule() {
+        assertThat(registry.find("CHFJPY")).isNull();
+        assertThat(registry.pipSize("chfjpy")).isEqualByComparingTo("0.01");
+        assertThat(registry.pipSize("USDSGD")).isEqualByComparingTo("0.0001");
+        assertThat(registry.pipSizeUsed(null)).isEqualTo(new BigDecimal("0.0001"));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.MetricRecomputeJob;
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.trades.recompute.chunk-size=2", "app.trades.recompute.threads=2"})
+@Testcontainers(disabledWithoutDocker = true)
+class MetricRecomputeTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MetricRecomputeService recompute;
+    @Autowired
+    private TradeRepository trades;
+    @Autowired
+    private UserRepository users;
+
+    @Test
+    void staleMetricsAreRecomputedInChunks() throws InterruptedException {
+        User user = users.findByEmail("test@example.com").orElseThrow();
+        List<Long> staleIds = new ArrayList<>();
+        Long staleId = null;
+        for (int i = 0; i < 5; i++) {
+            Trade trade = new Trade("EURUSD", "LONG", new BigDecimal("1.10000000"), Instant.now());
+            trade.setStopLossPrice(new BigDecimal("1.09000000"));
+            trade.setTakeProfitPrice(new BigDecimal("1.12000000"));
+            // As if written under an older pip rule.
+            trade.setPipSizeUsed(new BigDecimal("0.0100"));
+            trade.setSlPips(new BigDecimal("1.0"));
+            trade.setUpdatedAt(trade.getCreatedAt());
+            trade.setUser(user);
+            staleId = trades.save(trade).getId();
+            staleIds.add(staleId);
+        }
+        long versionBefore = trades.findById(staleId).orElseThrow().getSyncVersion();
+
+        MetricRecomputeJob started = recompute.start();
+        MetricRecomputeJob job = awaitFinished(started.getId());
+
+        assertThat(job.getStatus()).isEqualTo(MetricRecomputeJob.COMPLETED);
+        assertThat(job.getCompletedChunks()).isEqualTo(job.getTotalChunks());
+        assertThat(job.getUpdatedTrades()).isGreaterThanOrEqualTo(5);
+        Trade recomputed = trades.findById(staleId).orElseThrow();
+        assertThat(recomputed.getPipSizeUsed()).isEqualByComparingTo("0.0001");
+        assertThat(recomputed.getSlPips()).isEqualByComparingTo("100.0");
+        assertThat(recomputed.getTpPips()).isEqualByComparingTo("200.0");
+        assertThat(recomputed.getRrRatio()).isEqualByComparingTo("2.00");
+        assertThat(recomputed.getSyncVersion()).isGreaterThan(versionBefore);
+        // Each rewritten row gets its own version, so delta sync can page through them.
+        assertThat(trades.findAllById(staleIds)).extracting(Trade::getSyncVersion).doesNotHaveDuplicates();
+    }
+
+    private MetricRecomputeJob awaitFinished(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (System.currentTimeMillis() < deadline) {
+            MetricRecomputeJob job = recompute.find(id).orElseThrow();
+            if (!MetricRecomputeJob.RUNNING.equals(job.getStatus())) {
+                return job;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Recompute job " + id + " did not finish");
+    }
+}
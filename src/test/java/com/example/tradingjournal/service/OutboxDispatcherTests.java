@@ -0,0 +1,130 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.OutboxEvent;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.OutboxEventRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.storage.BlobStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.outbox.poll-delay-ms=3600000")
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxDispatcherTests {
+
+    private static final String FLAKY = "TEST_FLAKY";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+    @Autowired
+    private OutboxService outbox;
+    @Autowired
+    private OutboxEventRepository events;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private BlobStore blobStore;
+    @Autowired
+    private JdbcTemplate jdbc;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private FlakyHandler flakyHandler;
+
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        events.deleteAll();
+        userId = users.findByEmail("test@example.com").map(User::getId).orElseThrow();
+    }
+
+    @Test
+    void failedDeliveryIsRetriedAfterBackoff() {
+        publish(FLAKY, Map.of());
+
+        dispatcher.dispatchBatch();
+
+        OutboxEvent pending = events.findAll().get(0);
+        assertThat(pending.getAttempts()).isEqualTo(1);
+        assertThat(pending.getLastError()).isEqualTo("first attempt fails");
+        assertThat(pending.getAvailableAt()).isAfter(Instant.now());
+        assertThat(dispatcher.dispatchBatch()).as("not due yet").isZero();
+
+        jdbc.update("update outbox_events set available_at = ?", Timestamp.from(Instant.now().minusSeconds(1)));
+        dispatcher.dispatchBatch();
+
+        assertThat(events.count()).isZero();
+        assertThat(flakyHandler.received).hasSize(2);
+    }
+
+    @Test
+    void deletedAttachmentFileIsRemovedByHandler() throws IOException {
+        String key = "outbox-test/" + System.nanoTime() + ".png";
+        blobStore.put(key, new ByteArrayInputStream(new byte[]{1, 2, 3}), 3, "image/png");
+
+        publish(OutboxEvent.ATTACHMENT_DELETED, Map.of(AttachmentBlobCleanupHandler.BLOB_KEY, key));
+        dispatcher.dispatchBatch();
+
+        assertThat(events.count()).isZero();
+        assertThatThrownBy(() -> blobStore.open(key).close()).isInstanceOf(IOException.class);
+    }
+
+    private void publish(String type, Map<String, ?> payload) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outbox.publish(type, userId, 1L, payload));
+    }
+
+    @TestConfiguration
+    static class Handlers {
+        @Bean
+        FlakyHandler flakyHandler() {
+            return new FlakyHandler();
+        }
+    }
+
+    static class FlakyHandler implements OutboxHandler {
+        final List<Long> received = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failed = new AtomicBoolean();
+
+        @Override
+        public Set<String> eventTypes() {
+            return Set.of(FLAKY);
+        }
+
+        @Override
+        public void handle(List<OutboxEvent> batch) {
+            batch.forEach(event -> received.add(event.getId()));
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("first attempt fails");
+            }
+        }
+    }
+}
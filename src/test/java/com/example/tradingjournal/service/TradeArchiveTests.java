@@ -0,0 +1,122 @@
+package com.example.tradingjournal.service;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeArchiveEntryRepository;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import com.example.tradingjournal.storage.TradeSegmentCodec;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TradeArchiveTests {
+
+    private static final String EMAIL = "second@example.com";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+    @Autowired
+    private TradeArchiveEntryRepository entries;
+    @Autowired
+    private TradeArchiveService archive;
+
+    @Test
+    void codecRoundTripsEveryColumn() throws Exception {
+        Trade trade = closedTrade(Instant.parse("2021-03-04T05:06:07.123456Z"));
+        trade.setId(42L);
+        trade.setSyncVersion(7);
+        trade.setCloseReasonOverride("MANUAL");
+        trade.setManualReason("OTHER");
+        trade.setManualDescription("Closed before news, ünïcode");
+        trade.setConfidence(8);
+        Trade sparse = new Trade("GBPJPY", "SHORT", new BigDecimal("189.123"), Instant.EPOCH);
+        sparse.setId(43L);
+
+        List<Trade> decoded = TradeSegmentCodec.decode(new ByteArrayInputStream(TradeSegmentCodec.encode(List.of(trade, sparse))));
+
+        // Decimals come back at their column's widest scale, so compare by value.
+        assertThat(decoded).hasSize(2);
+        assertThat(decoded.get(0)).usingRecursiveComparison().ignoringFields("user")
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class).isEqualTo(trade);
+        assertThat(decoded.get(1)).usingRecursiveComparison().ignoringFields("user")
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class).isEqualTo(sparse);
+    }
+
+    @Test
+    void archivedTradesAreListedAndRehydratedOnEdit() throws Exception {
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        Trade old = closedTrade(Instant.now().minus(800, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MICROS));
+        old.setUser(user);
+        Long id = trades.save(old).getId();
+        String bearer = "Bearer " + jwtService.generateToken(EMAIL);
+
+        int archived = archive.archiveUser(user.getId(), Instant.now().minus(365, ChronoUnit.DAYS));
+
+        assertThat(archived).isPositive();
+        assertThat(trades.findById(id)).isEmpty();
+        assertThat(entries.existsById(id)).isTrue();
+        mvc.perform(get("/api/trades").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].netPnlMoney").value(12.5));
+        mvc.perform(get("/api/trades/" + id + "/attachments").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+
+        mvc.perform(put("/api/trades/" + id).header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"symbol":"EURUSD","direction":"LONG","entryPrice":1.1,"exitPrice":1.2,
+                                 "closedAt":"2023-01-02T00:00:00Z","netPnlMoney":99.5}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(id));
+
+        assertThat(entries.existsById(id)).isFalse();
+        assertThat(trades.findById(id)).get().extracting(Trade::getNetPnlMoney).isEqualTo(new BigDecimal("99.50"));
+    }
+
+    private Trade closedTrade(Instant createdAt) {
+        Trade trade = new Trade("EURUSD", "LONG", new BigDecimal("1.10000000"), createdAt);
+        trade.setExitPrice(new BigDecimal("1.12500000"));
+        trade.setStopLossPrice(new BigDecimal("1.09000000"));
+        trade.setNetPnlMoney(new BigDecimal("12.50"));
+        trade.setRrRatio(new BigDecimal("2.50"));
+        trade.setClosedAt(createdAt.plus(2, ChronoUnit.HOURS));
+        trade.setUpdatedAt(createdAt);
+        return trade;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.tradingjournal.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class PositionSizerTests {
+
+    @Test
+    void matchesTheUiCalculator() {
+        PositionSizer sizer = new PositionSizer(4);
+        // EURUSD, USD account: pip value comes straight from the quote currency.
+        setup(sizer, 0, 1.1000, 1.0950, 0.0001, 100_000, 1);
+        // USDJPY, USD account: account is the base currency, so the entry price converts.
+        setup(sizer, 1, 150.00, 150.50, 0.01, 100_000, 150.00);
+        // GBPJPY, EUR account: cross rate of 160 JPY per EUR.
+        setup(sizer, 2, 190.00, 189.00, 0.01, 100_000, 160);
+        // Missing stop loss.
+        setup(sizer, 3, 1.1000, Double.NaN, 0.0001, 100_000, 1);
+
+        sizer.run(10_000);
+
+        assertThat(sizer.baseValid[0]).isTrue();
+        assertThat(sizer.isLong[0]).isTrue();
+        assertThat(sizer.slPips[0]).isCloseTo(50, within(1e-9));
+        assertThat(sizer.riskAmount[0]).isCloseTo(100, within(1e-9));
+        assertThat(sizer.units[0]).isCloseTo(20_000, within(1e-6));
+        assertThat(sizer.lots[0]).isCloseTo(0.2, within(1e-9));
+        assertThat(sizer.target2R[0]).isCloseTo(1.1100, within(1e-9));
+
+        assertThat(sizer.isLong[1]).isFalse();
+        assertThat(sizer.units[1]).isCloseTo(30_000, within(1e-6));
+        assertThat(sizer.target3R[1]).isCloseTo(148.50, within(1e-9));
+
+        assertThat(sizer.units[2]).isCloseTo(16_000, within(1e-6));
+
+        assertThat(sizer.baseValid[3]).isFalse();
+        assertThat(sizer.units[3]).isNaN();
+        assertThat(sizer.lots[3]).isNaN();
+    }
+
+    private static void setup(PositionSizer sizer, int i, double entry, double stop, double pipSize, double unitsPerLot, double divisor) {
+        sizer.entry[i] = entry;
+        sizer.stop[i] = stop;
+        sizer.pipSize[i] = pipSize;
+        sizer.unitsPerLot[i] = unitsPerLot;
+        sizer.riskPercent[i] = 1;
+        sizer.pipValueDivisor[i] = divisor;
+        sizer.conversionValid[i] = true;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.service.InstrumentRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-trade cost of the checks and derived values computed on every create and update. Inputs cycle through a
+ * fixed set of valid LONG and SHORT setups on FX, JPY and metal symbols, so no branch is constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TradeWritePathBenchmark {
+
+    private static final int SETUPS = 1024;
+    private static final String[] SYMBOLS = {"EURUSD", "GBPJPY", "XAUUSD", "AUDCAD", "usdjpy "};
+    private static final String[] MANUAL_REASONS = {"OTHER", "NEWS", "TIME", " other "};
+
+    private TradeMetrics metrics;
+    private String[] symbols;
+    private String[] directions;
+    private BigDecimal[] entries;
+    private BigDecimal[] exits;
+    private BigDecimal[] stopLosses;
+    private BigDecimal[] takeProfits;
+    private String[] manualReasons;
+    private String[] descriptions;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        metrics = new TradeMetrics(new InstrumentRegistry());
+        Random random = new Random(11);
+        symbols = new String[SETUPS];
+        directions = new String[SETUPS];
+        entries = new BigDecimal[SETUPS];
+        exits = new BigDecimal[SETUPS];
+        stopLosses = new BigDecimal[SETUPS];
+        takeProfits = new BigDecimal[SETUPS];
+        manualReasons = new String[SETUPS];
+        descriptions = new String[SETUPS];
+        for (int i = 0; i < SETUPS; i++) {
+            boolean longTrade = random.nextBoolean();
+            BigDecimal entry = BigDecimal.valueOf(100_000_000L + random.nextInt(50_000_000), 8);
+            BigDecimal risk = BigDecimal.valueOf(200_000L + random.nextInt(800_000), 8);
+            BigDecimal reward = risk.multiply(BigDecimal.valueOf(1 + random.nextInt(3)));
+            symbols[i] = SYMBOLS[random.nextInt(SYMBOLS.length)];
+            directions[i] = longTrade ? "LONG" : "short";
+            entries[i] = entry;
+            stopLosses[i] = longTrade ? entry.subtract(risk) : entry.add(risk);
+            takeProfits[i] = longTrade ? entry.add(reward) : entry.subtract(reward);
+            exits[i] = random.nextBoolean() ? takeProfits[i] : stopLosses[i];
+            manualReasons[i] = MANUAL_REASONS[random.nextInt(MANUAL_REASONS.length)];
+            descriptions[i] = random.nextBoolean() ? "  Closed before the London open  " : "";
+            if (manualReasons[i].trim().equalsIgnoreCase("OTHER") && descriptions[i].isEmpty()) {
+                descriptions[i] = "Spread widened";
+            }
+        }
+    }
+
+    @Benchmark
+    public void validateTradeInput() {
+        int i = advance();
+        TradeServiceImpl.validateTradeInput(symbols[i], directions[i], entries[i], exits[i], stopLosses[i], takeProfits[i]);
+    }
+
+    @Benchmark
+    public Object computeMetrics() {
+        int i = advance();
+        return metrics.compute(symbols[i], directions[i], entries[i], stopLosses[i], takeProfits[i]);
+    }
+
+    @Benchmark
+    public void normalizeManualDetails(Blackhole blackhole) {
+        int i = advance();
+        TradeServiceImpl.ManualDetails details = TradeServiceImpl.normalizeManualDetails("MANUAL", manualReasons[i], descriptions[i]);
+        blackhole.consume(details.manualReason());
+        blackhole.consume(details.manualDescription());
+    }
+
+    private int advance() {
+        int i = next;
+        next = (i + 1) & (SETUPS - 1);
+        return i;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.tradingjournal.service.impl;
+
+import com.example.tradingjournal.web.TradeResponseBenchmark;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@link TradeWritePathBenchmark} and {@link TradeResponseBenchmark} with the GC profiler, so every score comes
+ * with its allocation rate ({@code gc.alloc.rate.norm} is bytes per operation). Excluded from the normal build; run
+ * with {@code ./mvnw test -Pjmh}. Results are also written as JSON to {@code target/jmh/trade-write-path.json}, the
+ * baseline to compare a change against.
+ */
+@Tag("benchmark")
+@Tag("jmh")
+class TradeWritePathBenchmarkTests {
+
+    @Test
+    void tradeWritePath() throws RunnerException, IOException {
+        Path result = Path.of(System.getProperty("jmh.result.dir", "target/jmh"), "trade-write-path.json");
+        Files.createDirectories(result.getParent());
+
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(TradeWritePathBenchmark.class.getName())
+                .include(TradeResponseBenchmark.class.getName())
+                .addProfiler("gc")
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build()).run();
+
+        assertThat(results).hasSize(6);
+        assertThat(result).isNotEmptyFile();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.tradingjournal.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LocalBlobStoreTests {
+
+    @TempDir
+    Path temp;
+
+    private Path root;
+    private LocalBlobStore store;
+
+    @BeforeEach
+    void store() {
+        root = temp.resolve("uploads");
+        store = new LocalBlobStore(root.toString());
+    }
+
+    @Test
+    void newKeysAreShardedByTheirHashPrefix() throws IOException {
+        String key = BlobKeys.newKey("png");
+        assertThat(key).matches("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f-]{36}\\.png");
+        String id = key.substring(key.lastIndexOf('/') + 1);
+        assertThat(key).startsWith(id.substring(0, 2) + "/" + id.substring(2, 4) + "/");
+
+        put(key, "chart");
+
+        assertThat(root.resolve(key)).hasContent("chart");
+        try (InputStream in = store.open(key)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("chart");
+        }
+        assertThat(store.publicUrl(key)).isEqualTo("/uploads/" + key);
+    }
+
+    @Test
+    void keysOutsideTheRootAreRejected() throws IOException {
+        Path outside = temp.resolve("outside.txt");
+        Files.writeString(outside, "secret");
+
+        for (String key : new String[]{"../outside.txt", "ab/../../outside.txt", outside.toString(), "", "."}) {
+            assertThatThrownBy(() -> store.open(key)).as(key).isInstanceOf(IOException.class).hasMessage("Invalid blob key");
+            assertThatThrownBy(() -> store.delete(key)).as(key).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> put(key, "x")).as(key).isInstanceOf(IOException.class);
+        }
+        assertThat(outside).hasContent("secret");
+    }
+
+    @Test
+    void putReplacesAtomicallyAndLeavesNoTempFiles() throws IOException {
+        String key = BlobKeys.newKey("jpg");
+        put(key, "first");
+        put(key, "second");
+        assertThat(root.resolve(key)).hasContent("second");
+
+        // A failed upload leaves the previous file in place and nothing partial behind.
+        InputStream failing = new InputStream() {
+            private int sent;
+
+            @Override
+            public int read() throws IOException {
+                if (sent++ < 3) {
+                    return 'x';
+                }
+                throw new IOException("connection reset");
+            }
+        };
+        assertThatThrownBy(() -> store.put(key, failing, 10, "image/jpeg")).isInstanceOf(IOException.class);
+        assertThat(root.resolve(key)).hasContent("second");
+        try (Stream<Path> files = Files.list(root.resolve(key).getParent())) {
+            assertThat(files).containsExactly(root.resolve(key));
+        }
+    }
+
+    @Test
+    void deletingAMissingBlobIsANoOp() throws IOException {
+        String key = BlobKeys.newKey("png");
+        put(key, "chart");
+
+        store.delete(key);
+        store.delete(key);
+
+        assertThat(root.resolve(key)).doesNotExist();
+    }
+
+    private void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        store.put(key, new ByteArrayInputStream(bytes), bytes.length, "text/plain");
+    }
+}
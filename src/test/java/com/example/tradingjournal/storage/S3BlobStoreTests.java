@@ -0,0 +1,104 @@
+package com.example.tradingjournal.storage;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs {@link S3BlobStore} against MinIO, the local stand-in the store documents.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class S3BlobStoreTests {
+
+    private static final String BUCKET = "attachments";
+    private static final String ACCESS_KEY = "minioadmin";
+    private static final String SECRET_KEY = "minioadmin";
+
+    @Container
+    static GenericContainer<?> minio = new GenericContainer<>("minio/minio:RELEASE.2023-09-04T19-57-37Z")
+            .withCommand("server", "/data")
+            .withEnv("MINIO_ROOT_USER", ACCESS_KEY)
+            .withEnv("MINIO_ROOT_PASSWORD", SECRET_KEY)
+            .withExposedPorts(9000)
+            .waitingFor(Wait.forHttp("/minio/health/live").forPort(9000));
+
+    private static S3BlobStore store;
+
+    @BeforeAll
+    static void bucket() {
+        String endpoint = "http://" + minio.getHost() + ":" + minio.getMappedPort(9000);
+        try (S3Client admin = S3Client.builder()
+                .region(Region.US_EAST_1)
+                .endpointOverride(URI.create(endpoint))
+                .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create(ACCESS_KEY, SECRET_KEY)))
+                .forcePathStyle(true)
+                .build()) {
+            admin.createBucket(request -> request.bucket(BUCKET));
+        }
+        store = new S3BlobStore(BUCKET, "us-east-1", endpoint, ACCESS_KEY, SECRET_KEY, true, Duration.ofMinutes(5));
+    }
+
+    @AfterAll
+    static void close() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void putOpenAndDelete() throws IOException {
+        String key = BlobKeys.newKey("png");
+        put(key, "chart");
+
+        try (InputStream in = store.open(key)) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("chart");
+        }
+
+        store.delete(key);
+        assertThatThrownBy(() -> store.open(key)).isInstanceOf(IOException.class).hasCauseInstanceOf(NoSuchKeyException.class);
+        // Deleting a missing object succeeds, so outbox redelivery is harmless.
+        store.delete(key);
+    }
+
+    @Test
+    void presignedUrlServesTheBlob() throws Exception {
+        String key = BlobKeys.newKey("jpg");
+        put(key, "screenshot");
+
+        String url = store.publicUrl(key);
+        assertThat(url).startsWith("http://").contains(key).contains("X-Amz-Signature=");
+
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).isEqualTo("screenshot");
+        assertThat(response.headers().firstValue("Content-Type")).hasValue("image/jpeg");
+    }
+
+    private static void put(String key, String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        store.put(key, new ByteArrayInputStream(bytes), bytes.length, key.endsWith(".png") ? "image/png" : "image/jpeg");
+    }
+}
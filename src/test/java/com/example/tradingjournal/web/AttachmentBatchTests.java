@@ -0,0 +1,116 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/attachments?tradeIds=...: attachments of a page of trades in one call.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class AttachmentBatchTests {
+
+    private static final String EMAIL = "test@example.com";
+    private static final String OTHER_EMAIL = "second@example.com";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+
+    @Test
+    void attachmentsAreGroupedPerRequestedTrade() throws Exception {
+        Long withTwo = tradeOf(EMAIL);
+        Long withNone = tradeOf(EMAIL);
+        Long othersTrade = tradeOf(OTHER_EMAIL);
+        upload(EMAIL, withTwo, "ENTRY");
+        upload(EMAIL, withTwo, "EXIT");
+        upload(OTHER_EMAIL, othersTrade, "ENTRY");
+
+        // Duplicates collapse; trades come back in request order.
+        mvc.perform(get("/api/attachments")
+                        .param("tradeIds", withNone + "," + othersTrade + "," + withTwo + "," + withNone)
+                        .header("Authorization", bearer(EMAIL)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[0].tradeId").value(withNone))
+                .andExpect(jsonPath("$[0].count").value(0))
+                .andExpect(jsonPath("$[0].attachments", hasSize(0)))
+                // Another user's trade is not an error, it just has nothing visible.
+                .andExpect(jsonPath("$[1].tradeId").value(othersTrade))
+                .andExpect(jsonPath("$[1].count").value(0))
+                .andExpect(jsonPath("$[1].attachments", hasSize(0)))
+                .andExpect(jsonPath("$[2].tradeId").value(withTwo))
+                .andExpect(jsonPath("$[2].count").value(2))
+                .andExpect(jsonPath("$[2].attachments", hasSize(2)))
+                .andExpect(jsonPath("$[2].attachments[*].section", containsInAnyOrder("ENTRY", "EXIT")));
+    }
+
+    @Test
+    void emptyAndOversizedIdListsAreRejected() throws Exception {
+        mvc.perform(get("/api/attachments").param("tradeIds", "").header("Authorization", bearer(EMAIL)))
+                .andExpect(status().isBadRequest());
+
+        String tooMany = LongStream.rangeClosed(1, 201).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        mvc.perform(get("/api/attachments").param("tradeIds", tooMany).header("Authorization", bearer(EMAIL)))
+                .andExpect(status().isBadRequest());
+
+        String limit = LongStream.rangeClosed(1, 200).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        mvc.perform(get("/api/attachments").param("tradeIds", limit).header("Authorization", bearer(EMAIL)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(200)));
+    }
+
+    private Long tradeOf(String email) {
+        User user = users.findByEmail(email).orElseThrow();
+        Trade trade = new Trade("EURUSD", "BUY", new BigDecimal("1.10000"), Instant.now());
+        trade.setUser(user);
+        return trades.save(trade).getId();
+    }
+
+    private void upload(String email, Long tradeId, String section) throws Exception {
+        mvc.perform(multipart("/api/trades/{tradeId}/attachments", tradeId)
+                        .file(new MockMultipartFile("file", "chart.png", "image/png", new byte[100]))
+                        .param("section", section)
+                        .header("Authorization", bearer(email)))
+                .andExpect(status().isOk());
+    }
+
+    private String bearer(String email) {
+        return "Bearer " + jwtService.generateToken(email);
+    }
+}
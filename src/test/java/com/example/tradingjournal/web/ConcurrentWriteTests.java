@@ -0,0 +1,109 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Fires the same first write from many threads at once. Before the single-statement upserts these raced between
+ * the existence check and the insert, and the losers got a 500 from the unique constraint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ConcurrentWriteTests {
+
+    private static final int THREADS = 16;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void concurrentSettingsSavesLeaveOneRow() throws Exception {
+        String email = "second@example.com";
+        Long userId = users.findByEmail(email).orElseThrow().getId();
+        String bearer = "Bearer " + jwtService.generateToken(email);
+
+        List<Integer> statuses = runConcurrently(i -> put("/api/account-settings")
+                .header("Authorization", bearer)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"startingBalance\":" + (1000 + i) + ",\"riskPercent\":1,\"currency\":\"usd\"}"));
+
+        assertThat(statuses).containsOnly(200);
+        assertThat(jdbc.queryForObject("select count(*) from account_settings where user_id = ?", Long.class, userId))
+                .isEqualTo(1L);
+    }
+
+    @Test
+    void concurrentRegistrationsCreateOneUser() throws Exception {
+        String email = "race@example.com";
+
+        List<Integer> statuses = runConcurrently(i -> post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\" RACE@example.com \",\"password\":\"pass1234\"}"));
+
+        assertThat(statuses).containsOnly(200, 400);
+        assertThat(statuses).filteredOn(status -> status == 200).hasSize(1);
+        assertThat(jdbc.queryForObject("select count(*) from users where email = ?", Long.class, email)).isEqualTo(1L);
+    }
+
+    private List<Integer> runConcurrently(RequestFactory requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                RequestBuilder request = requests.create(i);
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return mvc.perform(request).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> result : results) {
+                statuses.add(result.get(30, TimeUnit.SECONDS));
+            }
+            return statuses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface RequestFactory {
+        RequestBuilder create(int index);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "app.rate-limit.read.capacity=2",
+        "app.rate-limit.read.per-second=0.01"
+})
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class RateLimitTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readsOverTheBucketAreRejectedPerUser() throws Exception {
+        String first = "Bearer " + jwtService.generateToken("test@example.com");
+        String second = "Bearer " + jwtService.generateToken("second@example.com");
+
+        mvc.perform(get("/api/trades").header("Authorization", first)).andExpect(status().isOk());
+        mvc.perform(get("/api/trades").header("Authorization", first)).andExpect(status().isOk());
+        mvc.perform(get("/api/trades").header("Authorization", first))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "100"));
+
+        mvc.perform(get("/api/trades").header("Authorization", second)).andExpect(status().isOk());
+        assertThat(meterRegistry.get("ratelimit.rejected").tag("class", "read").counter().count()).isEqualTo(1.0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.web.TradeController.TradeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization time of a trade list in each response encoding. Payload sizes are reported by
+ * {@link ResponseEncodingBenchmarkTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    static final ObjectMapper JSON = JsonMapper.builder().build();
+    static final ObjectMapper SMILE = SmileMapper.builder().build();
+    static final ObjectMapper CBOR = CBORMapper.builder().build();
+
+    @Param({"10000"})
+    public int trades;
+
+    List<TradeResponse> rows;
+
+    @Setup
+    public void setUp() {
+        rows = sampleTrades(trades);
+    }
+
+    @Benchmark
+    public byte[] json() {
+        return JSON.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] smile() {
+        return SMILE.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] cbor() {
+        return CBOR.writeValueAsBytes(rows);
+    }
+
+    @Benchmark
+    public byte[] columnarJson() {
+        return JSON.writeValueAsBytes(ColumnarResponse.of(TradeResponse.class, rows));
+    }
+
+    @Benchmark
+    public byte[] columnarSmile() {
+        return SMILE.writeValueAsBytes(ColumnarResponse.of(TradeResponse.class, rows));
+    }
+
+    static List<TradeResponse> sampleTrades(int count) {
+        return sampleEntities(count).stream().map(TradeResponse::from).toList();
+    }
+
+    static List<Trade> sampleEntities(int count) {
+        Random random = new Random(7);
+        String[] symbols = {"EURUSD", "GBPJPY", "USDJPY", "XAUUSD", "AUDUSD"};
+        Instant start = Instant.parse("2022-01-03T08:00:00Z");
+        List<Trade> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Instant createdAt = start.plus(i * 37L, ChronoUnit.MINUTES);
+            BigDecimal entry = BigDecimal.valueOf(100_000_000L + random.nextInt(50_000_000), 8);
+            Trade trade = new Trade(symbols[random.nextInt(symbols.length)], random.nextBoolean() ? "LONG" : "SHORT", entry, createdAt);
+            trade.setId((long) i + 1);
+            trade.setStopLossPrice(entry.subtract(BigDecimal.valueOf(500_000, 8)));
+            trade.setTakeProfitPrice(entry.add(BigDecimal.valueOf(1_000_000, 8)));
+            trade.setSlPips(new BigDecimal("50.0"));
+            trade.setTpPips(new BigDecimal("100.0"));
+            trade.setRrRatio(new BigDecimal("2.00"));
+            trade.setUpdatedAt(createdAt);
+            if (random.nextInt(10) > 0) {
+                trade.setExitPrice(entry.add(BigDecimal.valueOf(random.nextInt(1_500_000) - 500_000, 8)));
+                trade.setClosedAt(createdAt.plus(3, ChronoUnit.HOURS));
+                trade.setCommissionMoney(new BigDecimal("-3.50"));
+                trade.setSwapMoney(new BigDecimal("-0.42"));
+                trade.setNetPnlMoney(BigDecimal.valueOf(random.nextInt(40_000) - 10_000, 2));
+            }
+            if (random.nextInt(3) == 0) {
+                trade.setFollowedPlan("YES");
+                trade.setConfidence(1 + random.nextInt(10));
+                trade.setMistakesText("Entered before the candle closed");
+                trade.setReviewUpdatedAt(createdAt.plus(1, ChronoUnit.DAYS));
+            }
+            rows.add(trade);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.web.TradeController.TradeResponse;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size of a 10k trade list in each encoding, raw and gzipped, then {@link ResponseEncodingBenchmark} for
+ * serialization time. Excluded from the normal build; run with
+ * {@code ./mvnw test -Pbenchmark -Dtest=ResponseEncodingBenchmarkTests}.
+ */
+@Tag("benchmark")
+@Tag("jmh")
+class ResponseEncodingBenchmarkTests {
+
+    @Test
+    void payloadSizesAndSerializationTime() throws IOException, RunnerException {
+        List<TradeResponse> rows = ResponseEncodingBenchmark.sampleTrades(10_000);
+        ColumnarResponse columnar = ColumnarResponse.of(TradeResponse.class, rows);
+
+        byte[] json = ResponseEncodingBenchmark.JSON.writeValueAsBytes(rows);
+        byte[] smile = ResponseEncodingBenchmark.SMILE.writeValueAsBytes(rows);
+        byte[] cbor = ResponseEncodingBenchmark.CBOR.writeValueAsBytes(rows);
+        byte[] columnarJson = ResponseEncodingBenchmark.JSON.writeValueAsBytes(columnar);
+        byte[] columnarSmile = ResponseEncodingBenchmark.SMILE.writeValueAsBytes(columnar);
+
+        report("json", json);
+        report("smile", smile);
+        report("cbor", cbor);
+        report("columnar json", columnarJson);
+        report("columnar smile", columnarSmile);
+
+        assertThat(smile.length).isLessThan(json.length);
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(columnarJson.length).isLessThan(json.length);
+
+        new Runner(new OptionsBuilder()
+                .include(ResponseEncodingBenchmark.class.getName())
+                .build()).run();
+    }
+
+    private static void report(String encoding, byte[] payload) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(payload);
+        }
+        System.out.printf("%-15s %,10d bytes  %,9d gzipped%n", encoding, payload.length, gzipped.size());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class ResponseFormatTests {
+
+    private static final String EMAIL = "second@example.com";
+    private static final String SMILE = "application/x-jackson-smile";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+
+    private String bearer;
+
+    @BeforeEach
+    void seed() {
+        bearer = "Bearer " + jwtService.generateToken(EMAIL);
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        if (trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(EMAIL).isEmpty()) {
+            Trade trade = new Trade("EURUSD", "LONG", new BigDecimal("1.10000000"), Instant.now());
+            trade.setUpdatedAt(trade.getCreatedAt());
+            trade.setUser(user);
+            trades.save(trade);
+        }
+    }
+
+    @Test
+    void tradesAreNegotiatedAsSmile() throws Exception {
+        byte[] body = mvc.perform(get("/api/trades").header("Authorization", bearer).header("Accept", SMILE))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", SMILE))
+                .andExpect(header().stringValues("Vary", hasItem(containsString("Accept"))))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode decoded = SmileMapper.builder().build().readTree(body);
+        assertThat(decoded.isArray()).isTrue();
+        assertThat(decoded.get(0).get("symbol").asString()).isEqualTo("EURUSD");
+    }
+
+    @Test
+    void columnarShapeHasOneArrayPerField() throws Exception {
+        mvc.perform(get("/api/trades?shape=columns").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(1))
+                .andExpect(jsonPath("$.columns.symbol[0]").value("EURUSD"))
+                .andExpect(jsonPath("$.columns.id.length()").value(1));
+        mvc.perform(get("/api/cashflows?shape=columns").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").isNumber());
+        mvc.perform(get("/api/trades?shape=sideways").header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sparseFieldsetLimitsEachTrade() throws Exception {
+        mvc.perform(get("/api/trades?fields=symbol,netPnlMoney").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").isNumber())
+                .andExpect(jsonPath("$[0].symbol").value("EURUSD"))
+                .andExpect(jsonPath("$[0].netPnlMoney").hasJsonPath())
+                .andExpect(jsonPath("$[0].manualDescription").doesNotHaveJsonPath());
+        mvc.perform(get("/api/trades?fields=symbol&shape=columns").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.columns.symbol[0]").value("EURUSD"))
+                .andExpect(jsonPath("$.columns.entryPrice").doesNotExist());
+        mvc.perform(get("/api/trades?fields=symbol,user").header("Authorization", bearer))
+                .andExpect(status().isBadRequest());
+    }
+}
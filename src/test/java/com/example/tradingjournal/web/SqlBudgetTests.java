@@ -0,0 +1,104 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.example.tradingjournal.metrics.SqlBudget.maxStatements;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements issued by the hot read endpoints, so an N+1 introduced in a mapper or a
+ * lazy association fails the build instead of showing up as latency. Each budget includes the user lookup done
+ * by JWT authentication, and collection endpoints one more for the ETag version read. The trade list also looks
+ * up archived trades.
+ */
+@SpringBootTest(properties = "app.sql-stats.debug-header=true")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class SqlBudgetTests {
+
+    private static final String EMAIL = "test@example.com";
+    private static final int TRADES = 25;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+
+    private String bearer;
+    private List<Long> tradeIds;
+
+    @BeforeEach
+    void seed() {
+        bearer = "Bearer " + jwtService.generateToken(EMAIL);
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        if (trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(EMAIL).size() < TRADES) {
+            for (int i = 0; i < TRADES; i++) {
+                Trade trade = new Trade("EURUSD", "BUY", new BigDecimal("1.10000"), Instant.now());
+                trade.setUser(user);
+                trades.save(trade);
+            }
+        }
+        tradeIds = trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(EMAIL).stream().map(Trade::getId).toList();
+    }
+
+    @Test
+    void listTrades() throws Exception {
+        mvc.perform(get("/api/trades").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(4));
+    }
+
+    @Test
+    void unchangedTradesAreRevalidatedWithoutReadingTrades() throws Exception {
+        String etag = mvc.perform(get("/api/trades").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mvc.perform(get("/api/trades").header("Authorization", bearer).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(maxStatements(2));
+    }
+
+    @Test
+    void listAttachmentsForManyTrades() throws Exception {
+        String ids = tradeIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        mvc.perform(get("/api/attachments").param("tradeIds", ids).header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(2));
+    }
+
+    @Test
+    void listCashflows() throws Exception {
+        mvc.perform(get("/api/cashflows").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(maxStatements(3));
+    }
+}
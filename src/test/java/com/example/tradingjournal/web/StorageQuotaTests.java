@@ -0,0 +1,149 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.model.UserStorageUsage;
+import com.example.tradingjournal.repository.TradeAttachmentRepository;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.repository.UserStorageUsageRepository;
+import com.example.tradingjournal.security.JwtService;
+import com.example.tradingjournal.service.StorageUsageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Attachment quotas against a 5000 byte per-user limit. Each test uses a fresh user, so its usage row starts empty.
+ */
+@SpringBootTest(properties = "app.upload.quota.max-bytes-per-user=5000")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class StorageQuotaTests {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+    @Autowired
+    private TradeAttachmentRepository attachments;
+    @Autowired
+    private UserStorageUsageRepository usages;
+    @Autowired
+    private StorageUsageService storageUsage;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void uploadOverQuotaIsRejected() throws Exception {
+        User user = freshUser();
+        Long tradeId = tradeOf(user);
+
+        upload(user, tradeId, 4000).andExpect(status().isOk());
+        upload(user, tradeId, 2000).andExpect(status().isBadRequest());
+
+        UserStorageUsage row = usages.findById(user.getId()).orElseThrow();
+        assertThat(row.getBytesUsed()).isEqualTo(4000);
+        assertThat(row.getFileCount()).isEqualTo(1);
+        assertThat(attachments.countByTradeUserId(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void reserveRechecksTheRowWhenTheCachedUsageIsBehind() throws Exception {
+        User user = freshUser();
+        Long tradeId = tradeOf(user);
+        upload(user, tradeId, 1000).andExpect(status().isOk());
+        assertThat(storageUsage.usageFor(user.getId()).bytesUsed()).isEqualTo(1000);
+
+        // Another node's upload: the row moves on, this node's cached usage does not.
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> usages.adjust(user.getId(), 3500, 1, Instant.now()));
+
+        // 1000 + 1000 passes the cached check; the conditional update sees 4500 + 1000 and refuses.
+        upload(user, tradeId, 1000).andExpect(status().isBadRequest());
+
+        assertThat(usages.findById(user.getId()).orElseThrow().getBytesUsed()).isEqualTo(4500);
+        assertThat(attachments.countByTradeUserId(user.getId())).isEqualTo(1);
+        assertThat(storageUsage.usageFor(user.getId()).bytesUsed()).isEqualTo(4500);
+    }
+
+    @Test
+    void deletingAnAttachmentReleasesItsBytes() throws Exception {
+        User user = freshUser();
+        Long tradeId = tradeOf(user);
+        upload(user, tradeId, 3000).andExpect(status().isOk());
+        Long attachmentId = attachments.findAllByTradeIdOrderByCreatedAtDesc(tradeId).get(0).getId();
+
+        mvc.perform(delete("/api/attachments/{id}", attachmentId).header("Authorization", bearer(user)))
+                .andExpect(status().isOk());
+
+        UserStorageUsage row = usages.findById(user.getId()).orElseThrow();
+        assertThat(row.getBytesUsed()).isZero();
+        assertThat(row.getFileCount()).isZero();
+        // The released bytes are available again.
+        upload(user, tradeId, 4500).andExpect(status().isOk());
+    }
+
+    @Test
+    void usageRowIsDeletedWithItsUser() {
+        User user = freshUser();
+        storageUsage.usageFor(user.getId());
+        assertThat(usages.findById(user.getId())).isPresent();
+
+        users.deleteById(user.getId());
+
+        assertThat(usages.findById(user.getId())).isEmpty();
+    }
+
+    private User freshUser() {
+        String email = "quota-" + Instant.now().toEpochMilli() + "-" + USERS.incrementAndGet() + "@example.com";
+        users.insertIfAbsent(email, "hash");
+        return users.findByEmail(email).orElseThrow();
+    }
+
+    private Long tradeOf(User user) {
+        Trade trade = new Trade("EURUSD", "BUY", new BigDecimal("1.10000"), Instant.now());
+        trade.setUser(user);
+        return trades.save(trade).getId();
+    }
+
+    private ResultActions upload(User user, Long tradeId, int bytes) throws Exception {
+        return mvc.perform(multipart("/api/trades/{tradeId}/attachments", tradeId)
+                .file(new MockMultipartFile("file", "chart.png", "image/png", new byte[bytes]))
+                .param("section", "ENTRY")
+                .header("Authorization", bearer(user)));
+    }
+
+    private String bearer(User user) {
+        return "Bearer " + jwtService.generateToken(user.getEmail());
+    }
+}
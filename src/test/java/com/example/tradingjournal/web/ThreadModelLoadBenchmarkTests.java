@@ -0,0 +1,282 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.TradingJournalApplication;
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.server.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same mixed load against the app twice, once on platform request threads and once with
+ * {@code spring.threads.virtual.enabled=true}, and prints throughput and latency per request type.
+ * <p>
+ * Excluded from the normal build; run with {@code ./mvnw test -Pbenchmark}. The virtual thread run needs a Java 21+
+ * JVM and is skipped on older runtimes; {@code -Pbenchmark,jdk21} runs the tests on a Java 21 toolchain and fails
+ * instead of skipping. Size with {@code -Dbenchmark.requests=40000 -Dbenchmark.concurrency=2000}.
+ * The traffic is 60% trade lists (JDBC), 25% quotes and 15% screenshot uploads (file copies). Finnhub is replaced
+ * by a local stub that answers after {@link #FINNHUB_DELAY}, and the rate cache expires every 100 ms so quotes
+ * keep refreshing through the lock.
+ */
+@Tag("benchmark")
+@Testcontainers(disabledWithoutDocker = true)
+class ThreadModelLoadBenchmarkTests {
+
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 20_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 1_000);
+    private static final Duration FINNHUB_DELAY = Duration.ofMillis(50);
+    private static final String EMAIL = "test@example.com";
+    private static final String BOUNDARY = "benchmark-boundary";
+    private static final List<String> KINDS = List.of("trades", "quote", "upload");
+
+    @Container
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine")
+            .withCommand("postgres", "-c", "max_connections=200");
+
+    private static HttpServer finnhub;
+    private static Path uploadDir;
+
+    @BeforeAll
+    static void startFinnhubStub() throws IOException {
+        byte[] body = """
+                {"base":"USD","quote":{"EUR":0.92,"GBP":0.79,"JPY":151.2,"CHF":0.88,"CAD":1.36,"AUD":1.52,"NZD":1.66,"XAU":0.00043}}
+                """.getBytes(StandardCharsets.UTF_8);
+        finnhub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        finnhub.setExecutor(Executors.newCachedThreadPool());
+        finnhub.createContext("/rates", exchange -> {
+            try {
+                Thread.sleep(FINNHUB_DELAY.toMillis());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        finnhub.start();
+        uploadDir = Files.createTempDirectory("thread-model-benchmark");
+    }
+
+    @AfterAll
+    static void stopFinnhubStub() {
+        finnhub.stop(0);
+    }
+
+    @Test
+    void platformAndVirtualThreadsUnderMixedLoad() throws Exception {
+        Map<String, Result> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.put("virtual", run(true));
+        } else {
+            assertThat(Boolean.getBoolean("benchmark.require-virtual-threads"))
+                    .as("virtual thread run on Java %d", Runtime.version().feature())
+                    .isFalse();
+            System.out.printf("%nJava %d: virtual thread run skipped, run with -Pbenchmark,jdk21%n", Runtime.version().feature());
+        }
+
+        System.out.printf("%n%,d requests, %d in flight, Finnhub stub delay %d ms%n",
+                REQUESTS, CONCURRENCY, FINNHUB_DELAY.toMillis());
+        System.out.printf("  %-9s %9s %8s %-8s %9s %9s %9s%n", "threads", "req/s", "errors", "type", "p50 ms", "p99 ms", "max ms");
+        results.forEach((mode, result) -> {
+            for (String kind : KINDS) {
+                long[] latencies = result.latencies().get(kind);
+                System.out.printf("  %-9s %9.0f %8d %-8s %9.1f %9.1f %9.1f%n", mode, result.throughput(), result.errors(),
+                        kind, percentile(latencies, 0.50), percentile(latencies, 0.99), percentile(latencies, 1.0));
+            }
+        });
+        System.out.println();
+
+        results.values().forEach(result -> assertThat(result.errors()).as("failed requests").isZero());
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        // Command line arguments, so they win over application-postgres.properties.
+        String[] args = {
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                "--spring.datasource.username=" + postgres.getUsername(),
+                "--spring.datasource.password=" + postgres.getPassword(),
+                "--spring.datasource.hikari.maximum-pool-size=50",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--FINNHUB_API_KEY=benchmark",
+                "--app.fx.finnhub-url=http://127.0.0.1:" + finnhub.getAddress().getPort() + "/rates",
+                "--app.fx.cache-ttl=PT0.1S",
+                "--app.upload.dir=" + uploadDir,
+                "--app.upload.admission.max-concurrent=256",
+                "--app.upload.admission.max-concurrent-per-user=256",
+                "--app.upload.admission.queue-timeout-ms=5000",
+                "--app.outbox.poll-delay-ms=3600000",
+                "--app.rate-limit.enabled=false",
+                "--logging.level.com.example.tradingjournal=WARN"
+        };
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(TradingJournalApplication.class).run(args)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            String bearer = "Bearer " + app.getBean(JwtService.class).generateToken(EMAIL);
+            Long tradeId = seedTrades(app);
+            Load load = new Load("http://localhost:" + port, bearer, tradeId);
+
+            load.run(REQUESTS / 10);
+            return load.run(REQUESTS);
+        }
+    }
+
+    private static Long seedTrades(ConfigurableApplicationContext app) {
+        TradeRepository trades = app.getBean(TradeRepository.class);
+        List<Trade> existing = trades.findAllByUserEmailOrderByCreatedAtDescIdDesc(EMAIL);
+        if (!existing.isEmpty()) {
+            return existing.get(0).getId();
+        }
+        User user = app.getBean(UserRepository.class).findByEmail(EMAIL).orElseThrow();
+        List<Trade> seeded = new ArrayList<>();
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        for (int i = 0; i < 200; i++) {
+            Trade trade = new Trade("EURUSD", i % 2 == 0 ? "LONG" : "SHORT", new BigDecimal("1.10000000"), now.minus(i, ChronoUnit.HOURS));
+            trade.setNetPnlMoney(new BigDecimal("12.50"));
+            trade.setUpdatedAt(trade.getCreatedAt());
+            trade.setUser(user);
+            seeded.add(trade);
+        }
+        return trades.saveAll(seeded).get(0).getId();
+    }
+
+    private static double percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p * sortedNanos.length) - 1);
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private record Result(double throughput, long errors, Map<String, long[]> latencies) {
+    }
+
+    /**
+     * Closed-loop client: at most {@link #CONCURRENCY} requests in flight, the request type drawn per request.
+     */
+    private static final class Load {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        private final String baseUrl;
+        private final String bearer;
+        private final Long tradeId;
+        private final byte[] upload;
+
+        Load(String baseUrl, String bearer, Long tradeId) {
+            this.baseUrl = baseUrl;
+            this.bearer = bearer;
+            this.tradeId = tradeId;
+            this.upload = multipartBody();
+        }
+
+        Result run(int requests) throws InterruptedException {
+            Map<String, ConcurrentLinkedQueue<Long>> samples = new LinkedHashMap<>();
+            KINDS.forEach(kind -> samples.put(kind, new ConcurrentLinkedQueue<>()));
+            AtomicLong errors = new AtomicLong();
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            Random random = new Random(42);
+            List<CompletableFuture<?>> pending = new ArrayList<>(requests);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                int roll = random.nextInt(100);
+                String kind = roll < 60 ? "trades" : roll < 85 ? "quote" : "upload";
+                inFlight.acquire();
+                long sent = System.nanoTime();
+                pending.add(client.sendAsync(request(kind), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, failure) -> {
+                            inFlight.release();
+                            if (failure != null || response.statusCode() >= 300) {
+                                errors.incrementAndGet();
+                            } else {
+                                samples.get(kind).add(System.nanoTime() - sent);
+                            }
+                        }));
+            }
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(ex -> null).join();
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, long[]> latencies = new LinkedHashMap<>();
+            samples.forEach((kind, queue) -> {
+                long[] sorted = queue.stream().mapToLong(Long::longValue).toArray();
+                Arrays.sort(sorted);
+                latencies.put(kind, sorted);
+            });
+            return new Result(requests / seconds, errors.get(), latencies);
+        }
+
+        private HttpRequest request(String kind) {
+            return switch (kind) {
+                case "trades" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/trades"))
+                        .header("Authorization", bearer)
+                        .GET()
+                        .build();
+                case "quote" -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/quote/test?pair=GBPJPY"))
+                        .GET()
+                        .build();
+                default -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/trades/" + tradeId + "/attachments?section=ENTRY"))
+                        .header("Authorization", bearer)
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(upload))
+                        .build();
+            };
+        }
+
+        private static byte[] multipartBody() {
+            byte[] image = new byte[256 * 1024];
+            new Random(7).nextBytes(image);
+            ByteArrayOutputStream body = new ByteArrayOutputStream(image.length + 256);
+            body.writeBytes(("--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"file\"; filename=\"chart.png\"\r\n"
+                    + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.writeBytes(image);
+            body.writeBytes(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+            return body.toByteArray();
+        }
+    }
+}
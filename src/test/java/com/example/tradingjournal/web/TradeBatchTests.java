@@ -0,0 +1,139 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.model.User;
+import com.example.tradingjournal.repository.TradeRepository;
+import com.example.tradingjournal.repository.UserRepository;
+import com.example.tradingjournal.security.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.tradingjournal.metrics.SqlBudget.maxStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sql-stats.debug-header=true")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class TradeBatchTests {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtService jwtService;
+    @Autowired
+    private UserRepository users;
+    @Autowired
+    private TradeRepository trades;
+
+    private String bearer;
+    private Long first;
+    private Long second;
+
+    @BeforeEach
+    void seed() {
+        bearer = "Bearer " + jwtService.generateToken(EMAIL);
+        first = trade().getId();
+        second = trade().getId();
+    }
+
+    @Test
+    void mixedOperationsAreAppliedTogether() throws Exception {
+        mvc.perform(post("/api/trades/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"operations":[
+                                  {"op":"create","symbol":"gbpjpy","direction":"SHORT","entryPrice":190.5},
+                                  {"op":"UPDATE","id":%d,"symbol":"EURUSD","direction":"LONG","entryPrice":1.1,
+                                   "exitPrice":1.2,"closedAt":"2024-01-02T00:00:00Z"},
+                                  {"op":"REVIEW","id":%d,"followedPlan":"yes","confidence":7},
+                                  {"op":"DELETE","id":%d}
+                                ]}
+                                """.formatted(first, first, second)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].trade.symbol").value("GBPJPY"))
+                .andExpect(jsonPath("$.results[1].trade.exitPrice").value(1.2))
+                .andExpect(jsonPath("$.results[2].trade.followedPlan").value("YES"))
+                .andExpect(jsonPath("$.results[3].status").value(204));
+
+        Trade updated = trades.findById(first).orElseThrow();
+        assertThat(updated.getClosedAt()).isEqualTo(Instant.parse("2024-01-02T00:00:00Z"));
+        assertThat(updated.getConfidence()).isEqualTo(7);
+        assertThat(trades.findById(second)).isEmpty();
+    }
+
+    @Test
+    void oneInvalidOperationRollsBackTheBatch() throws Exception {
+        long before = trades.count();
+
+        mvc.perform(post("/api/trades/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"operations":[
+                                  {"op":"CREATE","symbol":"EURUSD","direction":"LONG","entryPrice":1.1},
+                                  {"op":"DELETE","id":%d},
+                                  {"op":"REVIEW","id":%d,"followedPlan":"YES","confidence":11},
+                                  {"op":"DELETE","id":-1}
+                                ]}
+                                """.formatted(first, second)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.applied").value(false))
+                .andExpect(jsonPath("$.results[0].status").value(201))
+                .andExpect(jsonPath("$.results[0].id").doesNotExist())
+                .andExpect(jsonPath("$.results[2].status").value(400))
+                .andExpect(jsonPath("$.results[2].error").value("Confidence must be between 1 and 10"))
+                .andExpect(jsonPath("$.results[3].status").value(404));
+
+        assertThat(trades.count()).isEqualTo(before);
+        assertThat(trades.findById(first)).isPresent();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithBatchSize() throws Exception {
+        String operations = IntStream.range(0, 40)
+                .mapToObj(i -> "{\"op\":\"REVIEW\",\"id\":%d,\"followedPlan\":\"YES\",\"confidence\":5}"
+                        .formatted(trade().getId()))
+                .collect(Collectors.joining(","));
+
+        // User lookup, ownership query, version reservation (plus its first-time row insert), then the trade
+        // updates and the outbox rows as one JDBC batch each.
+        mvc.perform(post("/api/trades/batch").header("Authorization", bearer)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[" + operations + "]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(true))
+                .andExpect(maxStatements(10));
+    }
+
+    private Trade trade() {
+        User user = users.findByEmail(EMAIL).orElseThrow();
+        Trade trade = new Trade("EURUSD", "LONG", new BigDecimal("1.10000000"), Instant.now());
+        trade.setUpdatedAt(trade.getCreatedAt());
+        trade.setUser(user);
+        return trades.save(trade);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.tradingjournal.web;
+
+import com.example.tradingjournal.model.Trade;
+import com.example.tradingjournal.web.TradeController.TradeResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The read side of the trade write path: mapping entities to {@link TradeResponse} and writing the list as JSON,
+ * separately and together as {@code GET /api/trades} does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TradeResponseBenchmark {
+
+    @Param({"1000"})
+    public int trades;
+
+    List<Trade> entities;
+    List<TradeResponse> responses;
+
+    @Setup
+    public void setUp() {
+        entities = ResponseEncodingBenchmark.sampleEntities(trades);
+        responses = entities.stream().map(TradeResponse::from).toList();
+    }
+
+    @Benchmark
+    public List<TradeResponse> mapResponses() {
+        return entities.stream().map(TradeResponse::from).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return ResponseEncodingBenchmark.JSON.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeJson() {
+        return ResponseEncodingBenchmark.JSON.writeValueAsBytes(entities.stream().map(TradeResponse::from).toList());
+    }
+}
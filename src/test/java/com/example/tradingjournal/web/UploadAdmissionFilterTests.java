@@ -0,0 +1,107 @@
+package com.example.tradingjournal.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadAdmissionFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // Two uploads per node, one per user, no queueing.
+    private final UploadAdmissionFilter filter = new UploadAdmissionFilter(meterRegistry, 2, 1, 0, 3);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch finish = new CountDownLatch(1);
+
+    @AfterEach
+    void cleanUp() {
+        finish.countDown();
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void secondUploadOfTheSameUserIsRejectedUntilTheFirstCompletes() throws Exception {
+        Future<MockHttpServletResponse> first = startUpload("alice");
+
+        MockHttpServletResponse rejected = upload("alice");
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+        assertThat(upload("bob").getStatus()).as("other users keep their own permit").isEqualTo(200);
+
+        finish.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(upload("alice").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("uploads.rejected", "limit", "user").count()).isEqualTo(1);
+    }
+
+    @Test
+    void uploadsBeyondTheNodeLimitAreRejectedUntilOneCompletes() throws Exception {
+        Future<MockHttpServletResponse> alice = startUpload("alice");
+        Future<MockHttpServletResponse> bob = startUpload("bob");
+        assertThat(meterRegistry.get("uploads.active").gauge().value()).isEqualTo(2);
+
+        MockHttpServletResponse rejected = upload("carol");
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+
+        finish.countDown();
+        assertThat(alice.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(bob.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("uploads.active").gauge().value()).isZero();
+        // The rejected user's permit was handed back as well.
+        assertThat(upload("carol").getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.counter("uploads.rejected", "limit", "node").count()).isEqualTo(1);
+    }
+
+    /**
+     * Starts an upload that stays inside the filter chain until {@link #finish} opens, and returns once it holds
+     * its permits.
+     */
+    private Future<MockHttpServletResponse> startUpload(String user) throws InterruptedException {
+        CountDownLatch admitted = new CountDownLatch(1);
+        Future<MockHttpServletResponse> response = executor.submit(() -> {
+            authenticate(user);
+            return run((request, res) -> {
+                admitted.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        });
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).as(user + " admitted").isTrue();
+        return response;
+    }
+
+    private MockHttpServletResponse upload(String user) throws Exception {
+        authenticate(user);
+        return run((request, res) -> {
+        });
+    }
+
+    private MockHttpServletResponse run(FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/trades/1/attachments");
+        request.setServletPath("/api/trades/1/attachments");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, null));
+    }
+}